@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+#
+# Measures bytes allocated per vector store insert and per similarity search
+# (VectorStoreBenchmark in src/test/java).
+#
+# Usage: scripts/allocation-benchmark.sh [documents] [dimensions] [queries]
+# Requires java 21 and maven.
+#
+set -euo pipefail
+
+CLASSPATH_FILE=target/benchmark.classpath
+
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE"
+java -cp "target/classes:target/test-classes:$(cat "$CLASSPATH_FILE")" \
+    com.example.rag.store.VectorStoreBenchmark "$@"
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+#
+# Compares live heap, direct memory and GC activity of the heap and off-heap
+# vector layouts (VectorLayoutBenchmark in src/test/java). Each layout runs in its
+# own JVM with the same heap settings; GC logs are written to target/layout-benchmark.
+#
+# Usage: scripts/layout-benchmark.sh [documents] [dimensions] [queries]
+# JAVA_OPTS overrides the JVM settings (default: -Xmx2g -XX:MaxDirectMemorySize=2g).
+# Requires java 21 and maven.
+#
+set -euo pipefail
+
+CLASSPATH_FILE=target/benchmark.classpath
+WORK=target/layout-benchmark
+JAVA_OPTS=${JAVA_OPTS:--Xmx2g -XX:MaxDirectMemorySize=2g}
+
+mkdir -p "$WORK"
+mvn -B -q test-compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE"
+
+for layout in heap off-heap; do
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -Xlog:gc:file="$WORK/gc-$layout.log" \
+        -cp "target/classes:target/test-classes:$(cat "$CLASSPATH_FILE")" \
+        com.example.rag.store.VectorLayoutBenchmark "$layout" "$@"
+    echo
+done
@@ -0,0 +1,233 @@
+package com.example.rag.client;
+
+import com.example.rag.exception.ModelClientException;
+import com.example.rag.exception.ModelClientException.Reason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs provider calls with a per-call timeout, token-bucket rate limiting,
+ * an optional hedged second request and a circuit breaker.
+ * <p>
+ * The hedge fires once the primary request has been outstanding for longer than the
+ * configured percentile of recent successful latencies; whichever request finishes
+ * first wins and the other is cancelled. Hedging only starts once enough samples
+ * have been recorded to make the percentile meaningful.
+ */
+public class ResilientCallExecutor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilientCallExecutor.class);
+
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int MIN_SAMPLES_FOR_HEDGING = 10;
+
+    private final Settings settings;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final LatencyTracker latencyTracker = new LatencyTracker(LATENCY_SAMPLES);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong circuitRejections = new AtomicLong();
+    private final AtomicLong rateLimitRejections = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    public ResilientCallExecutor(Settings settings) {
+        this.settings = settings;
+        this.rateLimiter = new TokenBucketRateLimiter(settings.requestsPerSecond(), settings.burst());
+        this.circuitBreaker = new CircuitBreaker(settings.failureThreshold(), settings.openDuration());
+    }
+
+    /**
+     * Execute a provider call under the configured policies.
+     *
+     * @param call the provider call; it may be invoked twice when hedging
+     * @return the result of the first call to succeed
+     * @throws ModelClientException if the call is rejected, times out or fails
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.incrementAndGet();
+            throw new ModelClientException(settings.name() + " circuit breaker is open", Reason.CIRCUIT_OPEN);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + settings.timeout().toNanos();
+
+        try {
+            if (!rateLimiter.tryAcquire(settings.timeout().toNanos())) {
+                circuitBreaker.release();
+                rateLimitRejections.incrementAndGet();
+                throw new ModelClientException(settings.name() + " rate limit exceeded", Reason.RATE_LIMITED);
+            }
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new ModelClientException(settings.name() + " call interrupted", Reason.INTERRUPTED, e);
+        }
+
+        CompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> futures = new ArrayList<>(2);
+        futures.add(completion.submit(call::get));
+
+        long hedgeAt = hedgeAt(start);
+        boolean hedgePending = hedgeAt > 0;
+        int outstanding = 1;
+        Throwable lastFailure = null;
+
+        try {
+            while (outstanding > 0) {
+                long now = System.nanoTime();
+                if (now - deadline >= 0) {
+                    timeouts.incrementAndGet();
+                    circuitBreaker.onFailure();
+                    throw new ModelClientException(settings.name() + " call timed out after "
+                            + settings.timeout().toMillis() + "ms", Reason.TIMEOUT);
+                }
+
+                long waitNanos = deadline - now;
+                if (hedgePending) {
+                    waitNanos = Math.min(waitNanos, Math.max(0, hedgeAt - now));
+                }
+
+                Future<T> done = completion.poll(waitNanos, TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (hedgePending && System.nanoTime() - hedgeAt >= 0) {
+                        hedgePending = false;
+                        if (rateLimiter.tryAcquire()) {
+                            futures.add(completion.submit(call::get));
+                            outstanding++;
+                            hedgesFired.incrementAndGet();
+                            logger.debug("{} hedged request fired after {}ms", settings.name(),
+                                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        }
+                    }
+                    continue;
+                }
+
+                outstanding--;
+                try {
+                    T result = done.get();
+                    latencyTracker.record(System.nanoTime() - start);
+                    circuitBreaker.onSuccess();
+                    if (futures.size() > 1 && done == futures.get(1)) {
+                        hedgesWon.incrementAndGet();
+                    }
+                    return result;
+                } catch (ExecutionException e) {
+                    lastFailure = e.getCause();
+                    logger.debug("{} request failed: {}", settings.name(), lastFailure.getMessage());
+                }
+            }
+
+            circuitBreaker.onFailure();
+            throw new ModelClientException(settings.name() + " call failed: " + lastFailure.getMessage(),
+                    Reason.FAILED, lastFailure);
+        } catch (InterruptedException e) {
+            circuitBreaker.release();
+            Thread.currentThread().interrupt();
+            throw new ModelClientException(settings.name() + " call interrupted", Reason.INTERRUPTED, e);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Point in time at which to fire the hedged request, or 0 when hedging is
+     * disabled or there is not enough latency history yet.
+     */
+    private long hedgeAt(long start) {
+        if (!settings.hedgeEnabled() || latencyTracker.count() < MIN_SAMPLES_FOR_HEDGING) {
+            return 0;
+        }
+        long delay = Math.max(settings.hedgeMinDelay().toNanos(),
+                latencyTracker.percentile(settings.hedgePercentile()));
+        return start + delay;
+    }
+
+    /**
+     * Circuit state and timeout, circuit-open and rate-limit rejection and hedging counters.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("circuitState", circuitBreaker.getState());
+        stats.put("timeouts", timeouts.get());
+        stats.put("circuitRejections", circuitRejections.get());
+        stats.put("rateLimitRejections", rateLimitRejections.get());
+        stats.put("hedgesFired", hedgesFired.get());
+        stats.put("hedgesWon", hedgesWon.get());
+        stats.put("p95LatencyMs", latencyTracker.count() > 0
+                ? TimeUnit.NANOSECONDS.toMillis(latencyTracker.percentile(95.0))
+                : null);
+        return stats;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    public long getCircuitRejections() {
+        return circuitRejections.get();
+    }
+
+    public long getRateLimitRejections() {
+        return rateLimitRejections.get();
+    }
+
+    public long getHedgesFired() {
+        return hedgesFired.get();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Policy settings for one provider client.
+     *
+     * @param name              client name used in logs and error messages
+     * @param timeout           maximum time for a call, including rate-limit waiting
+     * @param requestsPerSecond sustained provider quota; zero disables rate limiting
+     * @param burst             token-bucket capacity
+     * @param hedgeEnabled      whether to fire a hedged second request
+     * @param hedgePercentile   latency percentile after which the hedge fires
+     * @param hedgeMinDelay     lower bound for the hedging delay
+     * @param failureThreshold  consecutive failures that open the circuit breaker
+     * @param openDuration      how long the breaker stays open before a trial call
+     */
+    public record Settings(String name,
+            Duration timeout,
+            double requestsPerSecond,
+            int burst,
+            boolean hedgeEnabled,
+            double hedgePercentile,
+            Duration hedgeMinDelay,
+            int failureThreshold,
+            Duration openDuration) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.rag.client;
+
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ChatModel} decorator that routes every call through a {@link ResilientCallExecutor}.
+ * Streaming is passed straight to the delegate: the executor's timeout and hedging
+ * apply to a single blocking result, not to a stream.
+ */
+public class ResilientChatModel implements ChatModel, AutoCloseable {
+
+    private final ChatModel delegate;
+    private final ResilientCallExecutor executor;
+
+    public ResilientChatModel(ChatModel delegate, ResilientCallExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return executor.execute(() -> delegate.call(prompt));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return delegate.stream(prompt);
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return delegate.getDefaultOptions();
+    }
+
+    public ResilientCallExecutor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.rag.client;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+/**
+ * {@link EmbeddingModel} decorator that routes every call through a {@link ResilientCallExecutor}.
+ */
+public class ResilientEmbeddingModel implements EmbeddingModel, AutoCloseable {
+
+    private final EmbeddingModel delegate;
+    private final ResilientCallExecutor executor;
+
+    private volatile int dimensions;
+
+    public ResilientEmbeddingModel(EmbeddingModel delegate, ResilientCallExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return executor.execute(() -> delegate.call(request));
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return executor.execute(() -> delegate.embed(document));
+    }
+
+    /**
+     * Providers that do not know their dimensions embed a probe text to find out,
+     * so the first lookup goes through the executor and the result is cached.
+     */
+    @Override
+    public int dimensions() {
+        int known = dimensions;
+        if (known == 0) {
+            known = executor.execute(delegate::dimensions);
+            dimensions = known;
+        }
+        return known;
+    }
+
+    public ResilientCallExecutor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
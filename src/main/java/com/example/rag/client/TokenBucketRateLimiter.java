@@ -0,0 +1,74 @@
+package com.example.rag.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiter.
+ * Tokens refill continuously at the configured rate up to the burst capacity.
+ * Callers that are willing to wait reserve a future token and sleep until it is due.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param permitsPerSecond sustained rate; zero or negative disables limiting
+     * @param burst            maximum number of tokens that can accumulate
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Take a token if one is available right now.
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokensPerNano <= 0) {
+            return true;
+        }
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Take a token, waiting up to the given time for one to become available.
+     *
+     * @return false if no token can be obtained within the timeout
+     */
+    public boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            if (tokensPerNano <= 0) {
+                return true;
+            }
+            refill();
+            waitNanos = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            if (waitNanos > timeoutNanos) {
+                return false;
+            }
+            // Reserve the token now; the balance may go negative until the wait is over
+            tokens -= 1;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.rag.config;
+
+import com.example.rag.client.ResilientCallExecutor;
+import com.example.rag.client.ResilientChatModel;
+import com.example.rag.client.ResilientEmbeddingModel;
+import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.ai.openai.OpenAiEmbeddingModel;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Wraps the auto-configured OpenAI models in the resilient client layer.
+ * The wrappers are primary, so every {@code ChatModel} and {@code EmbeddingModel}
+ * injection point goes through timeouts, rate limiting, hedging and circuit breaking.
+ * Policies are configured under {@code rag.client.chat} and {@code rag.client.embedding}.
+ */
+@Configuration
+@EnableConfigurationProperties(ModelClientProperties.class)
+public class ModelClientConfig {
+
+    private final ModelClientProperties properties;
+
+    public ModelClientConfig(ModelClientProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    @Primary
+    public ResilientChatModel resilientChatModel(OpenAiChatModel openAiChatModel) {
+        return new ResilientChatModel(openAiChatModel, new ResilientCallExecutor(
+                properties.getChat().toSettings("chat")));
+    }
+
+    @Bean
+    @Primary
+    public ResilientEmbeddingModel resilientEmbeddingModel(OpenAiEmbeddingModel openAiEmbeddingModel) {
+        return new ResilientEmbeddingModel(openAiEmbeddingModel, new ResilientCallExecutor(
+                properties.getEmbedding().toSettings("embedding")));
+    }
+}
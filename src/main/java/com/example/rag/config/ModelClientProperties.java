@@ -0,0 +1,156 @@
+package com.example.rag.config;
+
+import com.example.rag.client.ResilientCallExecutor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Resilience policies of the provider clients bound from {@code rag.client}.
+ */
+@ConfigurationProperties(prefix = "rag.client")
+public class ModelClientProperties {
+
+    private Client chat = new Client();
+    private Client embedding = new Client();
+
+    public Client getChat() {
+        return chat;
+    }
+
+    public void setChat(Client chat) {
+        this.chat = chat;
+    }
+
+    public Client getEmbedding() {
+        return embedding;
+    }
+
+    public void setEmbedding(Client embedding) {
+        this.embedding = embedding;
+    }
+
+    /**
+     * Policy of one provider client.
+     */
+    public static class Client {
+        private long timeoutMs = 30_000;
+        private double requestsPerSecond;
+        private int burst = 1;
+        private Hedge hedge = new Hedge();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        public long getTimeoutMs() {
+            return timeoutMs;
+        }
+
+        public void setTimeoutMs(long timeoutMs) {
+            this.timeoutMs = timeoutMs;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public Hedge getHedge() {
+            return hedge;
+        }
+
+        public void setHedge(Hedge hedge) {
+            this.hedge = hedge;
+        }
+
+        public CircuitBreaker getCircuitBreaker() {
+            return circuitBreaker;
+        }
+
+        public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+        }
+
+        /**
+         * Convert to the executor settings of the named client.
+         */
+        public ResilientCallExecutor.Settings toSettings(String name) {
+            return new ResilientCallExecutor.Settings(
+                    name,
+                    Duration.ofMillis(timeoutMs),
+                    requestsPerSecond,
+                    burst,
+                    hedge.isEnabled(),
+                    hedge.getPercentile(),
+                    Duration.ofMillis(hedge.getMinDelayMs()),
+                    circuitBreaker.getFailureThreshold(),
+                    Duration.ofMillis(circuitBreaker.getOpenDurationMs()));
+        }
+    }
+
+    /**
+     * Hedged second request.
+     */
+    public static class Hedge {
+        private boolean enabled;
+        private double percentile = 95.0;
+        private long minDelayMs = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getMinDelayMs() {
+            return minDelayMs;
+        }
+
+        public void setMinDelayMs(long minDelayMs) {
+            this.minDelayMs = minDelayMs;
+        }
+    }
+
+    /**
+     * Circuit breaker thresholds.
+     */
+    public static class CircuitBreaker {
+        private int failureThreshold = 5;
+        private long openDurationMs = 30_000;
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getOpenDurationMs() {
+            return openDurationMs;
+        }
+
+        public void setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+    }
+}
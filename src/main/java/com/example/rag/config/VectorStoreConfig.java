@@ -0,0 +1,68 @@
+package com.example.rag.config;
+
+import com.example.rag.store.HeapVectorIndex;
+import com.example.rag.store.InMemoryVectorStore;
+import com.example.rag.store.OffHeapVectorIndex;
+import com.example.rag.store.VectorIndex;
+import com.example.rag.store.VectorNamespace;
+import com.example.rag.store.VectorStoreRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates one isolated vector store per configured namespace under
+ * {@code rag.vector-store.namespaces}. The {@code default} namespace always exists.
+ */
+@Configuration
+@EnableConfigurationProperties(VectorStoreProperties.class)
+public class VectorStoreConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorStoreConfig.class);
+
+    @Bean
+    public VectorStoreRegistry vectorStoreRegistry(VectorStoreProperties properties) {
+        Map<String, VectorStoreProperties.Namespace> configured = new LinkedHashMap<>();
+        configured.put(VectorStoreRegistry.DEFAULT_NAMESPACE, new VectorStoreProperties.Namespace());
+        configured.putAll(properties.getNamespaces());
+
+        List<VectorNamespace> namespaces = new ArrayList<>();
+        configured.forEach((name, overrides) -> {
+            String layout = overrides.getLayout() != null ? overrides.getLayout() : properties.getLayout();
+            long quotaBytes = overrides.getQuotaBytes() != null
+                    ? overrides.getQuotaBytes()
+                    : properties.getQuotaBytes();
+            double threshold = overrides.getSimilarityThreshold() != null
+                    ? overrides.getSimilarityThreshold()
+                    : properties.getSimilarityThreshold();
+            int maxResults = overrides.getMaxResults() != null
+                    ? overrides.getMaxResults()
+                    : properties.getMaxResults();
+
+            InMemoryVectorStore store = new InMemoryVectorStore(name, createIndex(layout, properties), quotaBytes);
+            namespaces.add(new VectorNamespace(name, store, threshold, maxResults));
+            logger.info("Vector store namespace '{}': layout={}, quota={} bytes, threshold={}, maxResults={}",
+                    name, layout, quotaBytes, threshold, maxResults);
+        });
+
+        return new VectorStoreRegistry(namespaces);
+    }
+
+    private VectorIndex createIndex(String layout, VectorStoreProperties properties) {
+        return switch (layout) {
+            case "heap" -> new HeapVectorIndex();
+            case "off-heap" -> new OffHeapVectorIndex(
+                    properties.getOffHeap().getSlotsPerChunk(),
+                    Duration.ofMillis(properties.getOffHeap().getCompactionIntervalMs()));
+            default -> throw new IllegalStateException("Unknown vector store layout: " + layout);
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.rag.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Vector store settings bound from {@code rag.vector-store}.
+ * Top-level values are the defaults for every namespace; entries under
+ * {@code namespaces} override them per namespace.
+ */
+@ConfigurationProperties(prefix = "rag.vector-store")
+public class VectorStoreProperties {
+
+    private double similarityThreshold = 0.7;
+    private int maxResults = 2;
+    private String layout = "heap";
+    private long quotaBytes = 0;
+    private OffHeap offHeap = new OffHeap();
+    private Map<String, Namespace> namespaces = new LinkedHashMap<>();
+
+    public double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    public void setSimilarityThreshold(double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public String getLayout() {
+        return layout;
+    }
+
+    public void setLayout(String layout) {
+        this.layout = layout;
+    }
+
+    public long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    public void setQuotaBytes(long quotaBytes) {
+        this.quotaBytes = quotaBytes;
+    }
+
+    public OffHeap getOffHeap() {
+        return offHeap;
+    }
+
+    public void setOffHeap(OffHeap offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    public Map<String, Namespace> getNamespaces() {
+        return namespaces;
+    }
+
+    public void setNamespaces(Map<String, Namespace> namespaces) {
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * Settings of the off-heap vector arena.
+     */
+    public static class OffHeap {
+        private int slotsPerChunk = 1024;
+        private long compactionIntervalMs = 60_000;
+
+        public int getSlotsPerChunk() {
+            return slotsPerChunk;
+        }
+
+        public void setSlotsPerChunk(int slotsPerChunk) {
+            this.slotsPerChunk = slotsPerChunk;
+        }
+
+        public long getCompactionIntervalMs() {
+            return compactionIntervalMs;
+        }
+
+        public void setCompactionIntervalMs(long compactionIntervalMs) {
+            this.compactionIntervalMs = compactionIntervalMs;
+        }
+    }
+
+    /**
+     * Per-namespace overrides; unset values fall back to the top-level defaults.
+     */
+    public static class Namespace {
+        private Double similarityThreshold;
+        private Integer maxResults;
+        private String layout;
+        private Long quotaBytes;
+
+        public Double getSimilarityThreshold() {
+            return similarityThreshold;
+        }
+
+        public void setSimilarityThreshold(Double similarityThreshold) {
+            this.similarityThreshold = similarityThreshold;
+        }
+
+        public Integer getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(Integer maxResults) {
+            this.maxResults = maxResults;
+        }
+
+        public String getLayout() {
+            return layout;
+        }
+
+        public void setLayout(String layout) {
+            this.layout = layout;
+        }
+
+        public Long getQuotaBytes() {
+            return quotaBytes;
+        }
+
+        public void setQuotaBytes(Long quotaBytes) {
+            this.quotaBytes = quotaBytes;
+        }
+    }
+}
@@ -2,13 +2,18 @@ package com.example.rag.controller;
 
 import com.example.rag.model.QuestionRequest;
 import com.example.rag.model.QuestionResponse;
+import com.example.rag.service.DocumentService;
 import com.example.rag.service.RagService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * REST controller for the RAG question-answering endpoint.
  */
@@ -19,9 +24,11 @@ public class AskController {
     private static final Logger logger = LoggerFactory.getLogger(AskController.class);
 
     private final RagService ragService;
+    private final DocumentService documentService;
 
-    public AskController(RagService ragService) {
+    public AskController(RagService ragService, DocumentService documentService) {
         this.ragService = ragService;
+        this.documentService = documentService;
     }
 
     /**
@@ -32,11 +39,11 @@ public class AskController {
      */
     @PostMapping("/ask")
     public ResponseEntity<QuestionResponse> ask(@Valid @RequestBody QuestionRequest request) {
-        logger.info("Received question: {}", request.getQuestion());
+        logger.debug("Received question: {}", request.getQuestion());
 
-        QuestionResponse response = ragService.askQuestion(request.getQuestion());
+        QuestionResponse response = ragService.askQuestion(request.getQuestion(), request.getNamespace());
 
-        logger.info("Returning answer with {} retrieved documents, processed in {}ms",
+        logger.debug("Returning answer with {} retrieved documents, processed in {}ms",
                 response.getRetrievedDocuments().size(),
                 response.getProcessingTimeMs());
 
@@ -50,4 +57,18 @@ public class AskController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Spring AI RAG application is running!");
     }
+
+    /**
+     * GET /ready - Readiness of the document index.
+     * Returns 503 while the corpus is still loading; questions are then answered
+     * without document context.
+     */
+    @GetMapping("/ready")
+    public ResponseEntity<Map<String, String>> ready() {
+        DocumentService.IndexState state = documentService.getIndexState();
+        HttpStatus status = state == DocumentService.IndexState.READY
+                ? HttpStatus.OK
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(Map.of("status", state.name().toLowerCase(Locale.ROOT)));
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.rag.controller;
+
+import com.example.rag.model.IngestionReport;
+import com.example.rag.model.IngestionRequest;
+import com.example.rag.service.DocumentService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for loading documents into vector store namespaces.
+ */
+@RestController
+@RequestMapping("/namespaces")
+public class DocumentController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentController.class);
+
+    private final DocumentService documentService;
+
+    public DocumentController(DocumentService documentService) {
+        this.documentService = documentService;
+    }
+
+    /**
+     * POST /namespaces/{namespace}/documents - Embed and store documents in a namespace.
+     *
+     * @param namespace target namespace
+     * @param request   documents to ingest
+     * @return report of the ingestion run
+     */
+    @PostMapping("/{namespace}/documents")
+    public ResponseEntity<IngestionReport> ingest(@PathVariable String namespace,
+            @Valid @RequestBody IngestionRequest request) {
+        logger.debug("Ingesting {} documents into namespace {}", request.getDocuments().size(), namespace);
+
+        IngestionReport report = documentService.ingestDocuments(namespace, request.toDocuments());
+
+        return ResponseEntity.ok(report);
+    }
+}
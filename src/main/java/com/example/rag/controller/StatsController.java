@@ -0,0 +1,79 @@
+package com.example.rag.controller;
+
+import com.example.rag.client.ResilientChatModel;
+import com.example.rag.client.ResilientEmbeddingModel;
+import com.example.rag.model.IngestionReport;
+import com.example.rag.service.DocumentService;
+import com.example.rag.service.RequestCoalescer;
+import com.example.rag.store.VectorStoreRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * REST controller exposing runtime statistics of the RAG pipeline.
+ */
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final RequestCoalescer requestCoalescer;
+    private final VectorStoreRegistry vectorStores;
+    private final DocumentService documentService;
+    private final ResilientChatModel chatModel;
+    private final ResilientEmbeddingModel embeddingModel;
+
+    public StatsController(RequestCoalescer requestCoalescer,
+            VectorStoreRegistry vectorStores,
+            DocumentService documentService,
+            ResilientChatModel chatModel,
+            ResilientEmbeddingModel embeddingModel) {
+        this.requestCoalescer = requestCoalescer;
+        this.vectorStores = vectorStores;
+        this.documentService = documentService;
+        this.chatModel = chatModel;
+        this.embeddingModel = embeddingModel;
+    }
+
+    /**
+     * GET /stats/clients - Circuit state, timeout, rate-limit and hedging counters
+     * of the provider clients.
+     */
+    @GetMapping("/clients")
+    public ResponseEntity<Map<String, Object>> clients() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("chat", chatModel.getExecutor().getStats());
+        stats.put("embedding", embeddingModel.getExecutor().getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * GET /stats/ingestion - Report of the most recent ingestion run, including the
+     * embedding calls and bytes saved by deduplication. Returns 204 before the first run.
+     */
+    @GetMapping("/ingestion")
+    public ResponseEntity<IngestionReport> ingestion() {
+        IngestionReport report = documentService.getLastIngestionReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+
+    /**
+     * GET /stats/coalescing - Request coalescing counters.
+     */
+    @GetMapping("/coalescing")
+    public ResponseEntity<Map<String, Object>> coalescing() {
+        return ResponseEntity.ok(requestCoalescer.getStats());
+    }
+
+    /**
+     * GET /stats/vector-store - Size, memory usage and search latency per namespace.
+     */
+    @GetMapping("/vector-store")
+    public ResponseEntity<Map<String, Object>> vectorStore() {
+        return ResponseEntity.ok(vectorStores.getStats());
+    }
+}
@@ -63,6 +63,62 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    /**
+     * Handle requests for namespaces that are not configured.
+     */
+    @ExceptionHandler(NamespaceNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleNamespaceNotFound(
+            NamespaceNotFoundException ex, WebRequest request) {
+
+        Map<String, Object> response = buildErrorResponse(
+                HttpStatus.NOT_FOUND,
+                ex.getMessage(),
+                null,
+                request);
+
+        logger.warn("Namespace not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
+    /**
+     * Handle namespace memory quota violations.
+     */
+    @ExceptionHandler(NamespaceQuotaExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleQuotaExceeded(
+            NamespaceQuotaExceededException ex, WebRequest request) {
+
+        Map<String, Object> response = buildErrorResponse(
+                HttpStatus.INSUFFICIENT_STORAGE,
+                ex.getMessage(),
+                null,
+                request);
+
+        logger.warn("Namespace quota exceeded: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.INSUFFICIENT_STORAGE).body(response);
+    }
+
+    /**
+     * Handle provider calls rejected or failed by the resilient client layer.
+     * Rate limiting maps to 429, everything else to 503. These are expected under
+     * load or provider outages, so they are logged without a stack trace.
+     */
+    @ExceptionHandler(ModelClientException.class)
+    public ResponseEntity<Map<String, Object>> handleModelClientException(
+            ModelClientException ex, WebRequest request) {
+
+        HttpStatus status = ex.getReason() == ModelClientException.Reason.RATE_LIMITED
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        Map<String, Object> response = buildErrorResponse(
+                status,
+                ex.getMessage(),
+                null,
+                request);
+
+        logger.warn("Model provider unavailable ({}): {}", ex.getReason(), ex.getMessage());
+        return ResponseEntity.status(status).body(response);
+    }
+
     /**
      * Handle RAG processing exceptions.
      */
@@ -0,0 +1,31 @@
+package com.example.rag.exception;
+
+/**
+ * Exception for calls to the chat or embedding provider that were rejected,
+ * timed out or failed in the resilient client layer.
+ */
+public class ModelClientException extends RagException {
+
+    /**
+     * Why the call did not produce a result.
+     */
+    public enum Reason {
+        CIRCUIT_OPEN, RATE_LIMITED, TIMEOUT, INTERRUPTED, FAILED
+    }
+
+    private final Reason reason;
+
+    public ModelClientException(String message, Reason reason) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public ModelClientException(String message, Reason reason, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
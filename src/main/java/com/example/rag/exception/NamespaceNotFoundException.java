@@ -0,0 +1,11 @@
+package com.example.rag.exception;
+
+/**
+ * Exception thrown when a request targets a vector store namespace that is not configured.
+ */
+public class NamespaceNotFoundException extends RagException {
+
+    public NamespaceNotFoundException(String message) {
+        super(message);
+    }
+}
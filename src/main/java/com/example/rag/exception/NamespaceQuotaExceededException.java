@@ -0,0 +1,11 @@
+package com.example.rag.exception;
+
+/**
+ * Exception thrown when adding a document would exceed a namespace's memory quota.
+ */
+public class NamespaceQuotaExceededException extends RagException {
+
+    public NamespaceQuotaExceededException(String message) {
+        super(message);
+    }
+}
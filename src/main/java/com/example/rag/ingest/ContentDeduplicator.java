@@ -0,0 +1,207 @@
+package com.example.rag.ingest;
+
+import com.example.rag.model.Document;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Detects exact and near-duplicate documents before they are embedded.
+ * <p>
+ * Exact duplicates are found by SHA-256 of the content. Near duplicates are found by
+ * MinHash signatures indexed with LSH banding: the signature is split into bands of
+ * {@value #ROWS} rows and only documents sharing a band bucket are compared, so lookups
+ * do not scan the whole corpus.
+ * <p>
+ * Each vector store namespace is deduplicated separately, so documents are never
+ * mapped to a canonical document owned by another namespace.
+ */
+@Component
+public class ContentDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentDeduplicator.class);
+
+    private static final int ROWS = 4;
+    private static final int BANDS = MinHash.SIGNATURE_SIZE / ROWS;
+
+    private final Map<String, NamespaceIndex> namespaces = new HashMap<>();
+
+    @Value("${rag.ingestion.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rag.ingestion.dedup.near-duplicate-similarity:0.8}")
+    private double nearDuplicateSimilarity;
+
+    @PostConstruct
+    public void init() {
+        if (nearDuplicateSimilarity <= 0.0 || nearDuplicateSimilarity > 1.0) {
+            throw new IllegalStateException(
+                    "rag.ingestion.dedup.near-duplicate-similarity must be in (0.0, 1.0]");
+        }
+        logger.info("Content deduplication {}: near-duplicate similarity={}",
+                enabled ? "enabled" : "disabled", nearDuplicateSimilarity);
+    }
+
+    /**
+     * Find the canonical document that the given document duplicates.
+     * Re-ingesting an id with unchanged content returns an exact match to itself.
+     * Edited content never matches its own earlier version, so it is treated as new
+     * content. Documents without any words are never reported as near duplicates.
+     *
+     * @param namespace the vector store namespace the document is ingested into
+     * @param document  the document about to be ingested
+     * @return the duplicate match, or empty if the document is new
+     */
+    public synchronized Optional<Match> findDuplicate(String namespace, Document document) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        NamespaceIndex index = index(namespace);
+        String existing = index.idsByContentHash.get(contentHash(document.getContent()));
+        if (existing != null) {
+            return Optional.of(new Match(existing, true));
+        }
+
+        long[] signature = MinHash.signature(document.getContent());
+        if (MinHash.isEmpty(signature)) {
+            return Optional.empty();
+        }
+        for (int band = 0; band < BANDS; band++) {
+            List<Signature> bucket = index.lshBuckets.get(bucketKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+            for (Signature candidate : bucket) {
+                if (candidate.documentId().equals(document.getId())) {
+                    continue;
+                }
+                if (MinHash.similarity(signature, candidate.values()) >= nearDuplicateSimilarity) {
+                    return Optional.of(new Match(candidate.documentId(), false));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Register a document that has been embedded and stored, making it the canonical
+     * copy for later duplicates. An earlier version of the same id is forgotten.
+     */
+    public synchronized void register(String namespace, Document document) {
+        NamespaceIndex index = index(namespace);
+        index.canonicalIds.put(document.getId(), document.getId());
+        if (!enabled) {
+            return;
+        }
+
+        unregister(index, document.getId());
+
+        String hash = contentHash(document.getContent());
+        index.idsByContentHash.putIfAbsent(hash, document.getId());
+
+        Signature signature = new Signature(MinHash.signature(document.getContent()), document.getId(), hash);
+        index.signaturesById.put(document.getId(), signature);
+        if (MinHash.isEmpty(signature.values())) {
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            index.lshBuckets.computeIfAbsent(bucketKey(signature.values(), band), k -> new ArrayList<>())
+                    .add(signature);
+        }
+    }
+
+    private void unregister(NamespaceIndex index, String documentId) {
+        Signature previous = index.signaturesById.remove(documentId);
+        if (previous == null) {
+            return;
+        }
+        index.idsByContentHash.remove(previous.contentHash(), documentId);
+        for (int band = 0; band < BANDS; band++) {
+            long key = bucketKey(previous.values(), band);
+            List<Signature> bucket = index.lshBuckets.get(key);
+            if (bucket != null) {
+                bucket.remove(previous);
+                if (bucket.isEmpty()) {
+                    index.lshBuckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Record that a document was skipped as a duplicate of a canonical document.
+     * If the id was itself a canonical document, its earlier content is forgotten and
+     * the documents mapped to it are remapped to the new canonical document.
+     */
+    public synchronized void registerDuplicate(String namespace, Document document, String canonicalId) {
+        NamespaceIndex index = index(namespace);
+        String resolved = index.canonicalIds.getOrDefault(canonicalId, canonicalId);
+        unregister(index, document.getId());
+        index.canonicalIds.replaceAll((id, canonical) -> canonical.equals(document.getId()) ? resolved : canonical);
+        index.canonicalIds.put(document.getId(), resolved);
+        logger.debug("Mapped duplicate document {} to canonical document {}", document.getId(), resolved);
+    }
+
+    /**
+     * Resolve a document id to the id of the canonical document stored in the namespace.
+     */
+    public synchronized Optional<String> resolveCanonicalId(String namespace, String documentId) {
+        return Optional.ofNullable(index(namespace).canonicalIds.get(documentId));
+    }
+
+    private NamespaceIndex index(String namespace) {
+        return namespaces.computeIfAbsent(namespace, k -> new NamespaceIndex());
+    }
+
+    private long bucketKey(long[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = MinHash.mix(key * 31 + signature[row]);
+        }
+        return key;
+    }
+
+    private String contentHash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A duplicate match against a canonical document.
+     *
+     * @param canonicalId id of the canonical document
+     * @param exact       true for an exact content match, false for a near duplicate
+     */
+    public record Match(String canonicalId, boolean exact) {
+    }
+
+    private record Signature(long[] values, String documentId, String contentHash) {
+    }
+
+    /**
+     * Hash, LSH and canonical-id tables of one namespace.
+     */
+    private static class NamespaceIndex {
+        private final Map<String, String> idsByContentHash = new HashMap<>();
+        private final Map<String, Signature> signaturesById = new HashMap<>();
+        private final Map<Long, List<Signature>> lshBuckets = new HashMap<>();
+        private final Map<String, String> canonicalIds = new HashMap<>();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.rag.ingest;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures over word shingles.
+ * The fraction of equal signature components estimates the Jaccard similarity
+ * of the two documents' shingle sets. Words are runs of Unicode letters and digits,
+ * so non-Latin scripts are shingled like Latin text.
+ */
+public final class MinHash {
+
+    public static final int SIGNATURE_SIZE = 128;
+
+    private static final int SHINGLE_SIZE = 3;
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        // Fixed seed so signatures are stable across restarts
+        SplittableRandom random = new SplittableRandom(0x5eed_1234_abcdL);
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private MinHash() {
+    }
+
+    /**
+     * Compute the MinHash signature of the given text.
+     * Text without any letters or digits yields an empty signature, see {@link #isEmpty(long[])}.
+     */
+    public static long[] signature(String text) {
+        long[] signature = new long[SIGNATURE_SIZE];
+        Arrays.fill(signature, Long.MAX_VALUE);
+
+        String[] tokens = SEPARATOR.split(text.toLowerCase(Locale.ROOT));
+        int start = tokens.length > 0 && tokens[0].isEmpty() ? 1 : 0;
+        int width = Math.min(SHINGLE_SIZE, Math.max(tokens.length - start, 1));
+
+        for (int i = start; i + width <= tokens.length; i++) {
+            long shingle = hashShingle(tokens, i, width);
+            for (int h = 0; h < SIGNATURE_SIZE; h++) {
+                long value = mix(shingle ^ SEEDS[h]);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Whether the signature was computed from text without any shingles.
+     */
+    public static boolean isEmpty(long[] signature) {
+        for (long value : signature) {
+            if (value != Long.MAX_VALUE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Estimate the Jaccard similarity of two signatures.
+     * Empty signatures are not similar to anything.
+     */
+    public static double similarity(long[] a, long[] b) {
+        if (isEmpty(a) || isEmpty(b)) {
+            return 0.0;
+        }
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+
+    private static long hashShingle(String[] tokens, int from, int width) {
+        long hash = 0xcbf29ce484222325L;
+        for (int t = from; t < from + width; t++) {
+            String token = tokens[t];
+            for (int c = 0; c < token.length(); c++) {
+                hash ^= token.charAt(c);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= ' ';
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 64-bit finalizer so that every output bit depends on every input bit.
+     */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,7 +1,5 @@
 package com.example.rag.model;
 
-import java.util.List;
-
 /**
  * Domain model representing a document in the RAG system.
  * Contains document content and its vector embedding.
@@ -9,7 +7,7 @@ import java.util.List;
 public class Document {
     private String id;
     private String content;
-    private List<Double> embedding;
+    private float[] embedding;
 
     public Document() {
     }
@@ -19,7 +17,7 @@ public class Document {
         this.content = content;
     }
 
-    public Document(String id, String content, List<Double> embedding) {
+    public Document(String id, String content, float[] embedding) {
         this.id = id;
         this.content = content;
         this.embedding = embedding;
@@ -41,11 +39,11 @@ public class Document {
         this.content = content;
     }
 
-    public List<Double> getEmbedding() {
+    public float[] getEmbedding() {
         return embedding;
     }
 
-    public void setEmbedding(List<Double> embedding) {
+    public void setEmbedding(float[] embedding) {
         this.embedding = embedding;
     }
 
@@ -54,7 +52,7 @@ public class Document {
         return "Document{" +
                 "id='" + id + '\'' +
                 ", content='" + content.substring(0, Math.min(50, content.length())) + "...'" +
-                ", embeddingSize=" + (embedding != null ? embedding.size() : 0) +
+                ", embeddingSize=" + (embedding != null ? embedding.length : 0) +
                 '}';
     }
 }
@@ -0,0 +1,104 @@
+package com.example.rag.model;
+
+/**
+ * Summary of a single ingestion run, including the work saved by deduplication.
+ */
+public class IngestionReport {
+    private int documentsReceived;
+    private int documentsEmbedded;
+    private int exactDuplicates;
+    private int nearDuplicates;
+    private int unchanged;
+    private int quotaRejections;
+    private long bytesSaved;
+    private long processingTimeMs;
+
+    public IngestionReport() {
+    }
+
+    public void recordEmbedded() {
+        documentsReceived++;
+        documentsEmbedded++;
+    }
+
+    public void recordDuplicate(boolean exact, long contentBytes) {
+        documentsReceived++;
+        if (exact) {
+            exactDuplicates++;
+        } else {
+            nearDuplicates++;
+        }
+        bytesSaved += contentBytes;
+    }
+
+    public void recordUnchanged() {
+        documentsReceived++;
+        unchanged++;
+    }
+
+    public void recordQuotaRejection() {
+        documentsReceived++;
+        quotaRejections++;
+    }
+
+    public int getDocumentsReceived() {
+        return documentsReceived;
+    }
+
+    public int getDocumentsEmbedded() {
+        return documentsEmbedded;
+    }
+
+    public int getExactDuplicates() {
+        return exactDuplicates;
+    }
+
+    public int getNearDuplicates() {
+        return nearDuplicates;
+    }
+
+    /**
+     * Documents re-ingested with the same id and content as already stored.
+     */
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public int getQuotaRejections() {
+        return quotaRejections;
+    }
+
+    /**
+     * Each skipped duplicate or unchanged document saves one embedding call.
+     */
+    public int getEmbeddingCallsSaved() {
+        return exactDuplicates + nearDuplicates + unchanged;
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    public long getProcessingTimeMs() {
+        return processingTimeMs;
+    }
+
+    public void setProcessingTimeMs(long processingTimeMs) {
+        this.processingTimeMs = processingTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestionReport{" +
+                "documentsReceived=" + documentsReceived +
+                ", documentsEmbedded=" + documentsEmbedded +
+                ", exactDuplicates=" + exactDuplicates +
+                ", nearDuplicates=" + nearDuplicates +
+                ", unchanged=" + unchanged +
+                ", quotaRejections=" + quotaRejections +
+                ", embeddingCallsSaved=" + getEmbeddingCallsSaved() +
+                ", bytesSaved=" + bytesSaved +
+                ", processingTimeMs=" + processingTimeMs +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.rag.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for loading documents into a namespace.
+ */
+public class IngestionRequest {
+
+    @NotEmpty(message = "Documents cannot be empty")
+    private List<@Valid Item> documents;
+
+    public IngestionRequest() {
+    }
+
+    public IngestionRequest(List<Item> documents) {
+        this.documents = documents;
+    }
+
+    public List<Item> getDocuments() {
+        return documents;
+    }
+
+    public void setDocuments(List<Item> documents) {
+        this.documents = documents;
+    }
+
+    /**
+     * Convert the request items to domain documents.
+     */
+    public List<Document> toDocuments() {
+        return documents.stream()
+                .map(item -> new Document(item.getId(), item.getContent()))
+                .toList();
+    }
+
+    /**
+     * A single document to ingest.
+     */
+    public static class Item {
+
+        @NotBlank(message = "Document id cannot be empty")
+        private String id;
+
+        @NotBlank(message = "Document content cannot be empty")
+        private String content;
+
+        public Item() {
+        }
+
+        public Item(String id, String content) {
+            this.id = id;
+            this.content = content;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public void setContent(String content) {
+            this.content = content;
+        }
+    }
+}
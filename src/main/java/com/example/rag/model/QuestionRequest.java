@@ -1,6 +1,7 @@
 package com.example.rag.model;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 
 /**
  * Request DTO for the /ask endpoint.
@@ -10,6 +11,12 @@ public class QuestionRequest {
     @NotBlank(message = "Question cannot be empty")
     private String question;
 
+    /**
+     * Vector store namespace to search; the default namespace when omitted.
+     */
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "Namespace must be 1-64 letters, digits, '-' or '_'")
+    private String namespace;
+
     public QuestionRequest() {
     }
 
@@ -25,10 +32,19 @@ public class QuestionRequest {
         this.question = question;
     }
 
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
     @Override
     public String toString() {
         return "QuestionRequest{" +
                 "question='" + question + '\'' +
+                ", namespace='" + namespace + '\'' +
                 '}';
     }
 }
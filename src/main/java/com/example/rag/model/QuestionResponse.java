@@ -11,6 +11,7 @@ public class QuestionResponse {
     private String answer;
     private List<RetrievedDocument> retrievedDocuments;
     private long processingTimeMs;
+    private boolean degraded;
 
     public QuestionResponse() {
     }
@@ -24,6 +25,13 @@ public class QuestionResponse {
         this.processingTimeMs = processingTimeMs;
     }
 
+    public QuestionResponse(String question, String answer,
+            List<RetrievedDocument> retrievedDocuments,
+            long processingTimeMs, boolean degraded) {
+        this(question, answer, retrievedDocuments, processingTimeMs);
+        this.degraded = degraded;
+    }
+
     public String getQuestion() {
         return question;
     }
@@ -56,6 +64,18 @@ public class QuestionResponse {
         this.processingTimeMs = processingTimeMs;
     }
 
+    /**
+     * True if the answer was generated without document context because the
+     * document index was still warming up.
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public void setDegraded(boolean degraded) {
+        this.degraded = degraded;
+    }
+
     @Override
     public String toString() {
         return "QuestionResponse{" +
@@ -63,6 +83,7 @@ public class QuestionResponse {
                 ", answer='" + answer.substring(0, Math.min(50, answer.length())) + "...'" +
                 ", retrievedDocumentsCount=" + (retrievedDocuments != null ? retrievedDocuments.size() : 0) +
                 ", processingTimeMs=" + processingTimeMs +
+                ", degraded=" + degraded +
                 '}';
     }
 }
@@ -0,0 +1,78 @@
+package com.example.rag.rerank;
+
+import com.example.rag.model.RetrievedDocument;
+import com.example.rag.store.InMemoryVectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maximal Marginal Relevance re-ranker.
+ * Picks documents that are relevant to the query but not redundant with the ones
+ * already selected, scoring document-to-document similarity directly on the vectors
+ * held in the store the candidates came from.
+ */
+@Component
+public class MmrReranker implements Reranker {
+
+    @Value("${rag.rerank.mmr.lambda:0.7}")
+    private double lambda;
+
+    @Override
+    public String getName() {
+        return "mmr";
+    }
+
+    @Override
+    public List<RetrievedDocument> rerank(InMemoryVectorStore store,
+            float[] queryEmbedding,
+            List<RetrievedDocument> candidates,
+            int topK,
+            long deadlineNanos) {
+        int n = candidates.size();
+
+        // Highest similarity of each candidate to anything selected so far
+        double[] maxRedundancy = new double[n];
+        Arrays.fill(maxRedundancy, Double.NEGATIVE_INFINITY);
+        boolean[] selected = new boolean[n];
+        List<RetrievedDocument> result = new ArrayList<>(Math.min(topK, n));
+
+        while (result.size() < topK && result.size() < n) {
+            if (System.nanoTime() - deadlineNanos > 0) {
+                throw new RerankTimeoutException("MMR re-ranking exceeded its time budget");
+            }
+
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                if (selected[i]) {
+                    continue;
+                }
+                double redundancy = result.isEmpty() ? 0.0 : Math.max(maxRedundancy[i], 0.0);
+                double score = lambda * candidates.get(i).getSimilarity() - (1 - lambda) * redundancy;
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = i;
+                }
+            }
+
+            selected[best] = true;
+            result.add(candidates.get(best));
+
+            String chosenId = candidates.get(best).getDocumentId();
+            for (int i = 0; i < n; i++) {
+                if (!selected[i]) {
+                    double similarity = store.similarity(chosenId, candidates.get(i).getDocumentId());
+                    if (!Double.isNaN(similarity)) {
+                        maxRedundancy[i] = Math.max(maxRedundancy[i], similarity);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.rag.rerank;
+
+/**
+ * Thrown by a {@link Reranker} when it runs past its latency budget.
+ */
+public class RerankTimeoutException extends RuntimeException {
+
+    public RerankTimeoutException(String message) {
+        super(message);
+    }
+}
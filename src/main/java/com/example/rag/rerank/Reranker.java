@@ -0,0 +1,35 @@
+package com.example.rag.rerank;
+
+import com.example.rag.model.RetrievedDocument;
+import com.example.rag.store.InMemoryVectorStore;
+
+import java.util.List;
+
+/**
+ * Strategy for re-ordering retrieval candidates before they are injected into the prompt.
+ * Implementations are expected to check the deadline while they work and throw
+ * {@link RerankTimeoutException} once it has passed.
+ */
+public interface Reranker {
+
+    /**
+     * Name used to select this strategy via {@code rag.rerank.strategy}.
+     */
+    String getName();
+
+    /**
+     * Re-rank the candidates and return at most {@code topK} of them.
+     *
+     * @param store          vector store the candidates were retrieved from
+     * @param queryEmbedding the query vector
+     * @param candidates     retrieved documents in cosine order
+     * @param topK           number of documents to keep
+     * @param deadlineNanos  {@link System#nanoTime()} value after which work must stop
+     * @return re-ranked documents
+     */
+    List<RetrievedDocument> rerank(InMemoryVectorStore store,
+            float[] queryEmbedding,
+            List<RetrievedDocument> candidates,
+            int topK,
+            long deadlineNanos);
+}
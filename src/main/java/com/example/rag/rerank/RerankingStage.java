@@ -0,0 +1,121 @@
+package com.example.rag.rerank;
+
+import com.example.rag.model.RetrievedDocument;
+import com.example.rag.store.InMemoryVectorStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pipeline stage between similarity search and prompt construction.
+ * Runs the configured {@link Reranker} under a hard latency budget and falls back
+ * to the original cosine order when the budget is exceeded or the re-ranker fails.
+ */
+@Component
+public class RerankingStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(RerankingStage.class);
+
+    private final List<Reranker> rerankers;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Reranker reranker;
+
+    @Value("${rag.rerank.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rag.rerank.strategy:mmr}")
+    private String strategy;
+
+    @Value("${rag.rerank.candidates:50}")
+    private int candidates;
+
+    @Value("${rag.rerank.time-budget-ms:50}")
+    private long timeBudgetMs;
+
+    public RerankingStage(List<Reranker> rerankers) {
+        this.rerankers = rerankers;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("Re-ranking disabled");
+            return;
+        }
+        reranker = rerankers.stream()
+                .filter(r -> r.getName().equalsIgnoreCase(strategy))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown re-ranking strategy: " + strategy));
+        logger.info("Re-ranking enabled: strategy={}, candidates={}, budget={}ms",
+                reranker.getName(), candidates, timeBudgetMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Number of documents to fetch from the vector store so the re-ranker has
+     * something to choose from.
+     */
+    public int candidateCount(int topK) {
+        return enabled ? Math.max(topK, candidates) : topK;
+    }
+
+    /**
+     * Re-rank candidates down to {@code topK} documents within the latency budget.
+     *
+     * @param store          vector store the candidates were retrieved from
+     * @param queryEmbedding the query vector
+     * @param candidates     retrieved documents in cosine order
+     * @param topK           number of documents to keep
+     * @return re-ranked documents, or the first {@code topK} candidates on fallback
+     */
+    public List<RetrievedDocument> rerank(InMemoryVectorStore store,
+            float[] queryEmbedding,
+            List<RetrievedDocument> candidates,
+            int topK) {
+        if (!enabled || candidates.size() <= 1) {
+            return truncate(candidates, topK);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        Future<List<RetrievedDocument>> future = executor.submit(
+                () -> reranker.rerank(store, queryEmbedding, candidates, topK, deadline));
+
+        try {
+            List<RetrievedDocument> reranked = future.get(timeBudgetMs, TimeUnit.MILLISECONDS);
+            logger.debug("Re-ranked {} candidates to {} in {}us",
+                    candidates.size(), reranked.size(), (System.nanoTime() - start) / 1_000);
+            return reranked;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Re-ranking exceeded {}ms budget, using similarity order", timeBudgetMs);
+        } catch (ExecutionException e) {
+            logger.warn("Re-ranking failed, using similarity order: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return truncate(candidates, topK);
+    }
+
+    private List<RetrievedDocument> truncate(List<RetrievedDocument> candidates, int topK) {
+        return new ArrayList<>(candidates.subList(0, Math.min(topK, candidates.size())));
+    }
+}
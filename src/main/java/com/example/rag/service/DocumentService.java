@@ -1,19 +1,37 @@
 package com.example.rag.service;
 
+import com.example.rag.exception.ModelClientException;
+import com.example.rag.exception.NamespaceNotFoundException;
+import com.example.rag.exception.NamespaceQuotaExceededException;
+import com.example.rag.ingest.ContentDeduplicator;
 import com.example.rag.model.Document;
+import com.example.rag.model.IngestionReport;
 import com.example.rag.store.InMemoryVectorStore;
-import jakarta.annotation.PostConstruct;
+import com.example.rag.store.VectorNamespace;
+import com.example.rag.store.VectorStoreRegistry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Service responsible for managing the document corpus and embeddings.
+ * The corpus is loaded in the background once the application is ready, so
+ * startup does not depend on the embedding provider being reachable.
+ * The sample corpus is loaded into the default namespace.
  */
 @Service
 public class DocumentService {
@@ -21,7 +39,8 @@ public class DocumentService {
     private static final Logger logger = LoggerFactory.getLogger(DocumentService.class);
 
     private final EmbeddingModel embeddingModel;
-    private final InMemoryVectorStore vectorStore;
+    private final VectorStoreRegistry vectorStores;
+    private final ContentDeduplicator deduplicator;
 
     // Hardcoded sample documents
     private static final List<Document> SAMPLE_DOCUMENTS = List.of(
@@ -46,50 +65,265 @@ public class DocumentService {
                             "neural networks trained on large text corpora and have dimensions ranging from hundreds " +
                             "to thousands of values."));
 
-    public DocumentService(EmbeddingModel embeddingModel, InMemoryVectorStore vectorStore) {
+    /**
+     * Readiness of the document index.
+     */
+    public enum IndexState {
+        WARMING, READY
+    }
+
+    private final Map<String, Lock> ingestionLocks = new ConcurrentHashMap<>();
+
+    private volatile IndexState indexState = IndexState.WARMING;
+    private volatile IngestionReport lastIngestionReport;
+    private volatile Thread loader;
+
+    @Value("${rag.warmup.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${rag.warmup.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    @Value("${rag.vector-store.dimensions:0}")
+    private int configuredDimensions;
+
+    public DocumentService(EmbeddingModel embeddingModel,
+            VectorStoreRegistry vectorStores,
+            ContentDeduplicator deduplicator) {
         this.embeddingModel = embeddingModel;
-        this.vectorStore = vectorStore;
+        this.vectorStores = vectorStores;
+        this.deduplicator = deduplicator;
     }
 
     /**
-     * Initialize the document store with sample documents on application startup.
+     * Start loading the sample documents in the background once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCorpusLoading() {
+        loader = Thread.ofVirtual().name("corpus-loader").start(this::initialize);
+    }
+
+    @PreDestroy
+    public void stopCorpusLoading() {
+        Thread thread = loader;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Initialize the document store with sample documents.
+     * Failed attempts are retried with exponential backoff; documents stored by an
+     * earlier attempt are not embedded again.
      */
-    @PostConstruct
     public void initialize() {
         logger.info("Initializing document corpus with {} documents", SAMPLE_DOCUMENTS.size());
-        embedAndStoreDocuments(SAMPLE_DOCUMENTS);
-        logger.info("Document initialization complete. Vector store contains {} documents",
-                vectorStore.size());
+        VectorNamespace namespace = vectorStores.getDefault();
+        long backoffMs = initialBackoffMs;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            List<Document> pending = SAMPLE_DOCUMENTS.stream()
+                    .filter(doc -> getCanonicalId(namespace.name(), doc.getId()).isEmpty())
+                    .toList();
+            try {
+                embedAndStoreDocuments(namespace, pending, true);
+                indexState = IndexState.READY;
+                logger.info("Document initialization complete. Namespace {} contains {} documents",
+                        namespace.name(), namespace.store().size());
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Document initialization failed, retrying in {}ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+            }
+        }
+    }
+
+    /**
+     * Embed and store documents in the given namespace.
+     * Ingestion stops at the first document that does not fit in the namespace's
+     * quota; documents stored before it are kept.
+     *
+     * @param namespaceName target namespace
+     * @param documents     documents to ingest
+     * @return report of the ingestion run
+     * @throws NamespaceNotFoundException      if the namespace is not configured
+     * @throws NamespaceQuotaExceededException if a document does not fit in the quota
+     */
+    public IngestionReport ingestDocuments(String namespaceName, List<Document> documents) {
+        VectorNamespace namespace = vectorStores.find(namespaceName)
+                .orElseThrow(() -> new NamespaceNotFoundException("Unknown namespace: " + namespaceName));
+        return embedAndStoreDocuments(namespace, documents, false);
+    }
+
+    public IndexState getIndexState() {
+        return indexState;
+    }
+
+    public boolean isIndexReady() {
+        return indexState == IndexState.READY;
+    }
+
+    /**
+     * Whether a namespace can serve retrieval. Only the default namespace is loaded
+     * at startup; other namespaces are filled through ingestion and never warm up.
+     */
+    public boolean isIndexReady(String namespace) {
+        return !VectorStoreRegistry.DEFAULT_NAMESPACE.equals(namespace) || isIndexReady();
     }
 
     /**
-     * Generate embeddings for documents and store them in the vector store.
+     * Generate embeddings for documents and store them in the namespace's vector store.
+     * Exact and near duplicates of already stored documents are skipped and mapped
+     * to their canonical document instead of being embedded, as are documents whose
+     * id and content are already stored. Documents that would
+     * exceed the namespace's memory quota are rejected before the embedding call.
+     *
+     * @param skipOverQuota whether to skip documents over quota instead of failing the run
      */
-    private void embedAndStoreDocuments(List<Document> documents) {
+    private IngestionReport embedAndStoreDocuments(VectorNamespace namespace,
+            List<Document> documents,
+            boolean skipOverQuota) {
+        long startTime = System.currentTimeMillis();
+        IngestionReport report = new IngestionReport();
+        InMemoryVectorStore vectorStore = namespace.store();
+        int expectedDimensions = vectorStore.hasQuota() ? expectedDimensions() : 0;
+
+        Lock lock = ingestionLocks.computeIfAbsent(namespace.name(), k -> new ReentrantLock());
         for (Document doc : documents) {
+            // Check and register as one step, so concurrent ingestions of the same content embed it once
+            lock.lock();
             try {
-                logger.debug("Generating embedding for document: {}", doc.getId());
+                ingestDocument(namespace, doc, report, expectedDimensions, skipOverQuota);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        report.setProcessingTimeMs(System.currentTimeMillis() - startTime);
+        lastIngestionReport = report;
+        logger.info("Ingestion into {} complete: {} embedded, {} exact and {} near duplicates skipped, "
+                + "{} unchanged, {} rejected by quota, {} embedding calls and {} bytes saved",
+                namespace.name(),
+                report.getDocumentsEmbedded(),
+                report.getExactDuplicates(),
+                report.getNearDuplicates(),
+                report.getUnchanged(),
+                report.getQuotaRejections(),
+                report.getEmbeddingCallsSaved(),
+                report.getBytesSaved());
+        return report;
+    }
 
-                // Generate embedding using Spring AI
-                EmbeddingResponse response = embeddingModel.embedForResponse(List.of(doc.getContent()));
-                float[] rawEmbedding = response.getResults().get(0).getOutput();
+    private void ingestDocument(VectorNamespace namespace,
+            Document doc,
+            IngestionReport report,
+            int expectedDimensions,
+            boolean skipOverQuota) {
+        InMemoryVectorStore vectorStore = namespace.store();
 
-                // Convert float[] to List<Double>
-                List<Double> embedding = new ArrayList<>(rawEmbedding.length);
-                for (float value : rawEmbedding) {
-                    embedding.add((double) value);
-                }
+        Optional<ContentDeduplicator.Match> duplicate = deduplicator.findDuplicate(namespace.name(), doc);
+        if (duplicate.isPresent()) {
+            ContentDeduplicator.Match match = duplicate.get();
+            if (match.canonicalId().equals(doc.getId())) {
+                report.recordUnchanged();
+                logger.debug("Skipping unchanged document {}", doc.getId());
+                return;
+            }
+            // A stored document whose new content duplicates another one must not keep serving its old content
+            if (vectorStore.removeDocument(doc.getId())) {
+                logger.debug("Removed earlier version of document {}", doc.getId());
+            }
+            deduplicator.registerDuplicate(namespace.name(), doc, match.canonicalId());
+            report.recordDuplicate(match.exact(),
+                    doc.getContent().getBytes(StandardCharsets.UTF_8).length);
+            logger.debug("Skipping {} duplicate document {} of {}",
+                    match.exact() ? "exact" : "near", doc.getId(), match.canonicalId());
+            return;
+        }
+
+        try {
+            vectorStore.checkQuota(doc, expectedDimensions);
+        } catch (NamespaceQuotaExceededException e) {
+            rejectOverQuota(report, e, skipOverQuota);
+            return;
+        }
+
+        try {
+            logger.debug("Generating embedding for document: {}", doc.getId());
 
-                // Set embedding and store
-                doc.setEmbedding(embedding);
-                vectorStore.addDocument(doc);
+            // Generate embedding using Spring AI
+            EmbeddingResponse response = embeddingModel.embedForResponse(List.of(doc.getContent()));
+            float[] embedding = response.getResults().get(0).getOutput();
+
+            // Hand the provider's array straight to the store, which normalizes it in place
+            vectorStore.addDocument(new Document(doc.getId(), doc.getContent(), embedding));
+            deduplicator.register(namespace.name(), doc);
+            report.recordEmbedded();
+
+            logger.debug("Successfully embedded and stored document: {}", doc.getId());
+        } catch (NamespaceQuotaExceededException e) {
+            rejectOverQuota(report, e, skipOverQuota);
+        } catch (ModelClientException e) {
+            logger.warn("Failed to embed document {}: {}", doc.getId(), e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to embed document {}: {}", doc.getId(), e.getMessage(), e);
+            throw new RuntimeException("Failed to embed document " + doc.getId(), e);
+        }
+    }
 
-                logger.debug("Successfully embedded and stored document: {}", doc.getId());
-            } catch (Exception e) {
-                logger.error("Failed to embed document {}: {}", doc.getId(), e.getMessage(), e);
-                throw new RuntimeException("Failed to initialize document embeddings", e);
+    /**
+     * Dimensions used to size the first vector of an empty namespace, so its quota
+     * check also precedes the embedding call. Taken from
+     * {@code rag.vector-store.dimensions}, or else from any namespace that already
+     * stores vectors; asking the embedding model would cost a provider call.
+     *
+     * @return the dimensions, or 0 if unknown, in which case the store checks the
+     *         vector size once the embedding is returned
+     */
+    private int expectedDimensions() {
+        if (configuredDimensions > 0) {
+            return configuredDimensions;
+        }
+        for (VectorNamespace namespace : vectorStores.getNamespaces()) {
+            int dimensions = namespace.store().dimensions();
+            if (dimensions > 0) {
+                return dimensions;
             }
         }
+        return 0;
+    }
+
+    /**
+     * Retrying cannot free memory, so a document over quota is never treated as a
+     * provider failure.
+     */
+    private void rejectOverQuota(IngestionReport report, NamespaceQuotaExceededException e, boolean skip) {
+        if (!skip) {
+            throw e;
+        }
+        report.recordQuotaRejection();
+        logger.warn(e.getMessage());
+    }
+
+    /**
+     * Resolve a document id to the canonical document it was deduplicated against
+     * within the given namespace.
+     */
+    public Optional<String> getCanonicalId(String namespace, String documentId) {
+        return deduplicator.resolveCanonicalId(namespace, documentId);
+    }
+
+    /**
+     * Get the report of the most recent ingestion run.
+     */
+    public IngestionReport getLastIngestionReport() {
+        return lastIngestionReport;
     }
 
     /**
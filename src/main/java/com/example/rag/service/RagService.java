@@ -1,8 +1,15 @@
 package com.example.rag.service;
 
+import com.example.rag.exception.ModelClientException;
+import com.example.rag.exception.NamespaceNotFoundException;
 import com.example.rag.model.QuestionResponse;
 import com.example.rag.model.RetrievedDocument;
-import com.example.rag.store.InMemoryVectorStore;
+import com.example.rag.rerank.RerankingStage;
+import com.example.rag.store.VectorNamespace;
+import com.example.rag.store.VectorStoreRegistry;
+import com.example.rag.tracing.Span;
+import com.example.rag.tracing.TraceSnapshot;
+import com.example.rag.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.model.ChatModel;
@@ -16,7 +23,6 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -30,67 +36,182 @@ public class RagService {
 
     private final ChatModel chatModel;
     private final EmbeddingModel embeddingModel;
-    private final InMemoryVectorStore vectorStore;
-
-    @Value("${rag.vector-store.similarity-threshold:0.7}")
-    private double similarityThreshold;
-
-    @Value("${rag.vector-store.max-results:2}")
-    private int maxResults;
+    private final VectorStoreRegistry vectorStores;
+    private final RerankingStage rerankingStage;
+    private final RequestCoalescer requestCoalescer;
+    private final Tracer tracer;
+    private final DocumentService documentService;
 
     @Value("classpath:prompts/rag-template.txt")
     private Resource promptTemplate;
 
+    @Value("classpath:prompts/no-context-template.txt")
+    private Resource noContextTemplate;
+
     public RagService(ChatModel chatModel,
             EmbeddingModel embeddingModel,
-            InMemoryVectorStore vectorStore) {
+            VectorStoreRegistry vectorStores,
+            RerankingStage rerankingStage,
+            RequestCoalescer requestCoalescer,
+            Tracer tracer,
+            DocumentService documentService) {
         this.chatModel = chatModel;
         this.embeddingModel = embeddingModel;
-        this.vectorStore = vectorStore;
+        this.vectorStores = vectorStores;
+        this.rerankingStage = rerankingStage;
+        this.requestCoalescer = requestCoalescer;
+        this.tracer = tracer;
+        this.documentService = documentService;
     }
 
     /**
      * Process a question through the complete RAG pipeline.
+     * Concurrent identical questions share a single pipeline execution. While the
+     * namespace's document index is warming up, questions are answered without context.
      * 
-     * @param question the user's question
+     * @param question      the user's question
+     * @param namespaceName namespace to search, or null for the default namespace
      * @return response containing answer and metadata
+     * @throws NamespaceNotFoundException if the namespace is not configured
+     */
+    public QuestionResponse askQuestion(String question, String namespaceName) {
+        long startTime = System.currentTimeMillis();
+        VectorNamespace namespace = namespaceName == null
+                ? vectorStores.getDefault()
+                : vectorStores.find(namespaceName)
+                        .orElseThrow(() -> new NamespaceNotFoundException("Unknown namespace: " + namespaceName));
+        tracer.recordNamespace(namespace.name());
+        tracer.recordQuestion(question);
+
+        boolean indexReady = documentService.isIndexReady(namespace.name());
+        String filter = namespace.name() + ":" + namespace.maxResults() + ":"
+                + namespace.similarityThreshold() + ":" + indexReady;
+        SharedResult result;
+        try (Span span = tracer.span("pipeline")) {
+            result = requestCoalescer.execute(
+                    RequestCoalescer.key(question, filter),
+                    () -> {
+                        QuestionResponse response = indexReady
+                                ? runPipeline(question, namespace)
+                                : answerWithoutContext(question);
+                        return new SharedResult(response, tracer.snapshot());
+                    });
+        }
+        // Coalesced callers did not run the stages themselves; record the leader's timings
+        tracer.recordCoalesced(result.trace());
+        QuestionResponse shared = result.response();
+        tracer.recordDocuments(shared.getRetrievedDocuments().size());
+
+        // Each caller gets its own copy carrying its question text and wait time
+        return new QuestionResponse(question,
+                shared.getAnswer(),
+                shared.getRetrievedDocuments(),
+                System.currentTimeMillis() - startTime,
+                shared.isDegraded());
+    }
+
+    /**
+     * Result of one pipeline execution shared by every coalesced caller.
+     */
+    private record SharedResult(QuestionResponse response, TraceSnapshot trace) {
+    }
+
+    /**
+     * Answer a question without retrieval while the document index is not ready.
+     */
+    private QuestionResponse answerWithoutContext(String question) {
+        long startTime = System.currentTimeMillis();
+        logger.debug("Document index is warming up, answering without context");
+
+        try {
+            String templateContent = noContextTemplate.getContentAsString(StandardCharsets.UTF_8);
+            String prompt = new PromptTemplate(templateContent)
+                    .create(Map.of("question", question))
+                    .getContents();
+            tracer.recordPromptSize(prompt.length());
+
+            String answer;
+            try (Span span = tracer.span("generate")) {
+                answer = generateAnswer(prompt);
+            }
+            return new QuestionResponse(question, answer, List.of(),
+                    System.currentTimeMillis() - startTime, true);
+
+        } catch (IOException e) {
+            logger.error("Failed to load prompt template: {}", e.getMessage());
+            throw new RuntimeException("Prompt construction failed", e);
+        }
+    }
+
+    /**
+     * Run the embedding, retrieval, re-ranking and generation steps for a question
+     * against a single namespace.
      */
-    public QuestionResponse askQuestion(String question) {
+    private QuestionResponse runPipeline(String question, VectorNamespace namespace) {
         long startTime = System.currentTimeMillis();
 
-        logger.info("Processing question: {}", question);
+        logger.debug("Processing question: {}", question);
 
         try {
             // Step 1: Embed the question
             logger.debug("Step 1: Generating query embedding");
-            List<Double> queryEmbedding = embedQuestion(question);
+            float[] queryEmbedding;
+            try (Span span = tracer.span("embed")) {
+                queryEmbedding = embedQuestion(question);
+            }
 
-            // Step 2: Retrieve relevant documents
+            // Step 2: Retrieve candidate documents
             logger.debug("Step 2: Performing similarity search");
-            List<RetrievedDocument> retrievedDocs = vectorStore.similaritySearch(
-                    queryEmbedding,
-                    maxResults,
-                    similarityThreshold);
+            List<RetrievedDocument> candidates;
+            try (Span span = tracer.span("search")) {
+                candidates = namespace.store().similaritySearch(
+                        queryEmbedding,
+                        rerankingStage.candidateCount(namespace.maxResults()),
+                        namespace.similarityThreshold());
+            }
 
-            logger.info("Retrieved {} documents with similarities: {}",
-                    retrievedDocs.size(),
-                    retrievedDocs.stream()
-                            .map(d -> String.format("%.3f", d.getSimilarity()))
-                            .toList());
+            // Step 3: Re-rank candidates down to the documents sent to the LLM
+            logger.debug("Step 3: Re-ranking {} candidates", candidates.size());
+            List<RetrievedDocument> retrievedDocs;
+            try (Span span = tracer.span("rerank")) {
+                retrievedDocs = rerankingStage.rerank(
+                        namespace.store(),
+                        queryEmbedding,
+                        candidates,
+                        namespace.maxResults());
+            }
 
-            // Step 3: Build enriched prompt with context
-            logger.debug("Step 3: Building prompt with retrieved context");
-            String enrichedPrompt = buildPromptWithContext(question, retrievedDocs);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Retrieved {} documents with similarities: {}",
+                        retrievedDocs.size(),
+                        retrievedDocs.stream()
+                                .map(d -> String.format("%.3f", d.getSimilarity()))
+                                .toList());
+            }
 
-            // Step 4: Generate answer using LLM
-            logger.debug("Step 4: Generating answer with LLM");
-            String answer = generateAnswer(enrichedPrompt);
+            // Step 4: Build enriched prompt with context
+            logger.debug("Step 4: Building prompt with retrieved context");
+            String enrichedPrompt;
+            try (Span span = tracer.span("prompt")) {
+                enrichedPrompt = buildPromptWithContext(question, retrievedDocs);
+            }
+            tracer.recordPromptSize(enrichedPrompt.length());
+
+            // Step 5: Generate answer using LLM
+            logger.debug("Step 5: Generating answer with LLM");
+            String answer;
+            try (Span span = tracer.span("generate")) {
+                answer = generateAnswer(enrichedPrompt);
+            }
 
             long processingTime = System.currentTimeMillis() - startTime;
-            logger.info("Question processed in {}ms", processingTime);
+            logger.debug("Question processed in {}ms", processingTime);
 
             return new QuestionResponse(question, answer, retrievedDocs, processingTime);
 
+        } catch (ModelClientException e) {
+            // Already classified by the client layer; failing fast must stay cheap
+            throw e;
         } catch (Exception e) {
             logger.error("Error processing question: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process question: " + e.getMessage(), e);
@@ -100,17 +221,13 @@ public class RagService {
     /**
      * Generate embedding for the user's question.
      */
-    private List<Double> embedQuestion(String question) {
+    private float[] embedQuestion(String question) {
         try {
             EmbeddingResponse response = embeddingModel.embedForResponse(List.of(question));
-            float[] rawEmbedding = response.getResults().get(0).getOutput();
-
-            // Convert float[] to List<Double>
-            List<Double> embedding = new ArrayList<>(rawEmbedding.length);
-            for (float value : rawEmbedding) {
-                embedding.add((double) value);
-            }
-            return embedding;
+            return response.getResults().get(0).getOutput();
+        } catch (ModelClientException e) {
+            // Already classified by the client layer; failing fast must stay cheap
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to generate question embedding: {}", e.getMessage());
             throw new RuntimeException("Embedding generation failed", e);
@@ -161,6 +278,9 @@ public class RagService {
             String answer = chatModel.call(prompt);
             logger.debug("Generated answer: {} characters", answer.length());
             return answer;
+        } catch (ModelClientException e) {
+            // Already classified by the client layer; failing fast must stay cheap
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to generate answer: {}", e.getMessage());
             throw new RuntimeException("Answer generation failed", e);
@@ -0,0 +1,114 @@
+package com.example.rag.service;
+
+import com.example.rag.exception.RagException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical questions into a single pipeline execution.
+ * <p>
+ * The first request for a key runs the pipeline; requests that arrive while it is
+ * in flight wait for the same result. The entry is removed before the result is
+ * published, so nothing is served after the execution finishes and no stale answers
+ * are cached.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @Value("${rag.coalescing.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Build the coalescing key for a question: case, surrounding and repeated
+     * whitespace do not change the pipeline result.
+     */
+    public static String key(String question, String filter) {
+        String normalized = question.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return filter + '\u0000' + normalized;
+    }
+
+    /**
+     * Run the pipeline for the key, or join an identical execution already in flight.
+     *
+     * @param key      coalescing key from {@link #key(String, String)}
+     * @param pipeline the pipeline execution; every execution for a key must return the same type
+     * @return the shared result
+     */
+    public <T> T execute(String key, Supplier<T> pipeline) {
+        if (!enabled) {
+            executions.incrementAndGet();
+            return pipeline.get();
+        }
+
+        CompletableFuture<Object> execution = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            logger.debug("Coalescing request into in-flight execution");
+            return join(existing);
+        }
+
+        executions.incrementAndGet();
+        T response;
+        try {
+            response = pipeline.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, execution);
+            execution.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, execution);
+        execution.complete(response);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T join(CompletableFuture<Object> execution) {
+        try {
+            return (T) execution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RagException("Coalesced request failed", e.getCause());
+        }
+    }
+
+    /**
+     * Coalescing metrics.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("executions", executions.get());
+        stats.put("coalesced", coalesced.get());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+}
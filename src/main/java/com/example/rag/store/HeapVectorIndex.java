@@ -0,0 +1,65 @@
+package com.example.rag.store;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Vector index keeping one {@code float[]} per document on the Java heap.
+ */
+public class HeapVectorIndex implements VectorIndex {
+
+    private final Map<String, float[]> vectors = new ConcurrentHashMap<>();
+
+    @Override
+    public void put(String id, float[] vector) {
+        vectors.put(id, vector);
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return vectors.remove(id) != null;
+    }
+
+    @Override
+    public void scoreAll(float[] query, ScoreConsumer consumer) {
+        vectors.forEach((id, vector) -> consumer.accept(id, VectorMath.dot(query, vector)));
+    }
+
+    @Override
+    public double dot(String id1, String id2) {
+        float[] v1 = vectors.get(id1);
+        float[] v2 = vectors.get(id2);
+        return v1 == null || v2 == null ? Double.NaN : VectorMath.dot(v1, v2);
+    }
+
+    @Override
+    public int size() {
+        return vectors.size();
+    }
+
+    @Override
+    public int dimensions() {
+        return vectors.values().stream().findAny().map(v -> v.length).orElse(0);
+    }
+
+    @Override
+    public long vectorBytes() {
+        // float[] header (16 bytes) plus 4 bytes per component
+        return vectors.values().stream().mapToLong(v -> 16L + 4L * v.length).sum();
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        vectors.clear();
+    }
+
+    @Override
+    public void close() {
+        vectors.clear();
+    }
+}
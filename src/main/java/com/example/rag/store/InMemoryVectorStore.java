@@ -1,35 +1,147 @@
 package com.example.rag.store;
 
+import com.example.rag.client.LatencyTracker;
+import com.example.rag.exception.NamespaceQuotaExceededException;
 import com.example.rag.model.Document;
 import com.example.rag.model.RetrievedDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * In-memory vector store for document embeddings.
- * Uses cosine similarity for semantic search.
+ * Uses cosine similarity for semantic search. Embeddings are normalized once when
+ * they are added, so scoring is a single dot product per document.
+ * <p>
+ * Vectors are held by a {@link VectorIndex}: either on the heap or in an off-heap
+ * arena. With the off-heap layout the heap only keeps ids and document content.
+ * An optional memory quota bounds the estimated size of vectors plus content.
  */
-@Component
 public class InMemoryVectorStore {
 
     private static final Logger logger = LoggerFactory.getLogger(InMemoryVectorStore.class);
 
+    private static final int LATENCY_SAMPLES = 1024;
+
     private final Map<String, Document> documents = new ConcurrentHashMap<>();
+    private final String name;
+    private final VectorIndex index;
+    private final long quotaBytes;
+    private final LatencyTracker searchLatency = new LatencyTracker(LATENCY_SAMPLES);
+    private final AtomicLong searches = new AtomicLong();
+
+    private long contentBytes;
+
+    public InMemoryVectorStore() {
+        this(new HeapVectorIndex());
+    }
+
+    public InMemoryVectorStore(VectorIndex index) {
+        this("default", index, 0);
+    }
+
+    /**
+     * @param name       namespace name used in logs and errors
+     * @param index      vector layout
+     * @param quotaBytes memory quota in bytes; zero or negative means unlimited
+     */
+    public InMemoryVectorStore(String name, VectorIndex index, long quotaBytes) {
+        this.name = name;
+        this.index = index;
+        this.quotaBytes = quotaBytes;
+    }
 
     /**
      * Add a document with its embedding to the store.
+     * The store takes ownership of the embedding array and normalizes it in place.
+     *
+     * @throws NamespaceQuotaExceededException if the document does not fit in the quota
      */
-    public void addDocument(Document document) {
+    public synchronized void addDocument(Document document) {
         if (document.getId() == null || document.getEmbedding() == null) {
             throw new IllegalArgumentException("Document must have id and embedding");
         }
-        documents.put(document.getId(), document);
-        logger.debug("Added document {} to vector store", document.getId());
+        ensureFits(document, document.getEmbedding().length);
+
+        Document previous = documents.get(document.getId());
+        if (previous != null) {
+            contentBytes -= contentBytes(previous);
+        }
+        contentBytes += contentBytes(document);
+
+        index.put(document.getId(), VectorMath.normalize(document.getEmbedding()));
+
+        // Off-heap vectors are not duplicated on the heap
+        Document stored = index.isOffHeap()
+                ? new Document(document.getId(), document.getContent())
+                : document;
+        documents.put(document.getId(), stored);
+        logger.debug("Added document {} to vector store namespace {}", document.getId(), name);
+    }
+
+    /**
+     * Remove a document and its vector from the store.
+     *
+     * @return true if the document was present
+     */
+    public synchronized boolean removeDocument(String id) {
+        index.remove(id);
+        Document removed = documents.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        contentBytes -= contentBytes(removed);
+        return true;
+    }
+
+    public boolean hasQuota() {
+        return quotaBytes > 0;
+    }
+
+    /**
+     * Check that a document would fit in the quota before spending an embedding call on it.
+     * The vector size is taken from the documents already stored, or from
+     * {@code expectedDimensions} while the store is empty.
+     *
+     * @throws NamespaceQuotaExceededException if the document does not fit
+     */
+    public synchronized void checkQuota(Document document, int expectedDimensions) {
+        ensureFits(document, index.size() > 0 ? index.dimensions() : expectedDimensions);
+    }
+
+    /**
+     * A replaced document only needs room for its additional content; its vector
+     * slot is reused.
+     */
+    private void ensureFits(Document document, int dimensions) {
+        if (quotaBytes <= 0) {
+            return;
+        }
+        Document previous = documents.get(document.getId());
+        long added = previous == null
+                ? (long) dimensions * Float.BYTES + contentBytes(document)
+                : contentBytes(document) - contentBytes(previous);
+        long projected = estimatedMemoryBytes() + added;
+        if (added > 0 && projected > quotaBytes) {
+            throw new NamespaceQuotaExceededException(String.format(
+                    "Namespace '%s' memory quota exceeded: adding document %s needs %d bytes, quota is %d bytes",
+                    name, document.getId(), projected, quotaBytes));
+        }
+    }
+
+    /**
+     * Estimated memory of the stored vectors and document content.
+     */
+    private long estimatedMemoryBytes() {
+        return (long) index.size() * index.dimensions() * Float.BYTES + contentBytes;
+    }
+
+    private static long contentBytes(Document document) {
+        return document.getContent() != null ? (long) document.getContent().length() * Character.BYTES : 0L;
     }
 
     /**
@@ -40,48 +152,45 @@ public class InMemoryVectorStore {
      * @param threshold      minimum similarity threshold (0.0 to 1.0)
      * @return list of retrieved documents with similarity scores
      */
-    public List<RetrievedDocument> similaritySearch(List<Double> queryEmbedding, int topK, double threshold) {
+    public List<RetrievedDocument> similaritySearch(float[] queryEmbedding, int topK, double threshold) {
         logger.debug("Performing similarity search with topK={}, threshold={}", topK, threshold);
 
-        if (queryEmbedding == null || queryEmbedding.isEmpty()) {
+        if (queryEmbedding == null || queryEmbedding.length == 0) {
             throw new IllegalArgumentException("Query embedding cannot be null or empty");
         }
 
-        return documents.values().stream()
-                .map(doc -> {
-                    double similarity = cosineSimilarity(queryEmbedding, doc.getEmbedding());
-                    return new RetrievedDocument(doc.getId(), doc.getContent(), similarity);
-                })
-                .filter(retrieved -> retrieved.getSimilarity() >= threshold)
-                .sorted(Comparator.comparingDouble(RetrievedDocument::getSimilarity).reversed())
-                .limit(topK)
-                .collect(Collectors.toList());
+        long start = System.nanoTime();
+        double queryNorm = VectorMath.norm(queryEmbedding);
+        if (queryNorm == 0.0) {
+            return List.of();
+        }
+
+        List<RetrievedDocument> results = new ArrayList<>();
+        index.scoreAll(queryEmbedding, (id, dot) -> {
+            double similarity = dot / queryNorm;
+            Document doc = documents.get(id);
+            if (similarity >= threshold && doc != null) {
+                results.add(new RetrievedDocument(id, doc.getContent(), similarity));
+            }
+        });
+
+        results.sort(Comparator.comparingDouble(RetrievedDocument::getSimilarity).reversed());
+        List<RetrievedDocument> topResults = results.size() > topK
+                ? new ArrayList<>(results.subList(0, topK))
+                : results;
+
+        searches.incrementAndGet();
+        searchLatency.record(System.nanoTime() - start);
+        return topResults;
     }
 
     /**
-     * Calculate cosine similarity between two vectors.
-     * Result ranges from -1 to 1, where 1 means identical vectors.
+     * Cosine similarity between two stored documents.
+     *
+     * @return the similarity, or {@link Double#NaN} if either document is missing
      */
-    private double cosineSimilarity(List<Double> vec1, List<Double> vec2) {
-        if (vec1.size() != vec2.size()) {
-            throw new IllegalArgumentException("Vectors must have same dimensions");
-        }
-
-        double dotProduct = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
-
-        for (int i = 0; i < vec1.size(); i++) {
-            dotProduct += vec1.get(i) * vec2.get(i);
-            norm1 += vec1.get(i) * vec1.get(i);
-            norm2 += vec2.get(i) * vec2.get(i);
-        }
-
-        if (norm1 == 0.0 || norm2 == 0.0) {
-            return 0.0;
-        }
-
-        return dotProduct / (Math.sqrt(norm1) * Math.sqrt(norm2));
+    public double similarity(String id1, String id2) {
+        return index.dot(id1, id2);
     }
 
     /**
@@ -91,12 +200,46 @@ public class InMemoryVectorStore {
         return documents.size();
     }
 
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Dimensions of the stored vectors, or 0 while the store is empty.
+     */
+    public int dimensions() {
+        return index.dimensions();
+    }
+
+    /**
+     * Size, memory and search latency statistics.
+     */
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("documents", documents.size());
+        stats.put("dimensions", index.dimensions());
+        stats.put("layout", index.isOffHeap() ? "off-heap" : "heap");
+        stats.put("vectorBytes", index.vectorBytes());
+        stats.put("estimatedMemoryBytes", estimatedMemoryBytes());
+        stats.put("quotaBytes", quotaBytes);
+        stats.put("searches", searches.get());
+        stats.put("searchLatencyP50Us", micros(searchLatency.percentile(50)));
+        stats.put("searchLatencyP99Us", micros(searchLatency.percentile(99)));
+        return stats;
+    }
+
+    private static long micros(long nanos) {
+        return nanos < 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
     /**
      * Clear all documents from the store.
      */
-    public void clear() {
+    public synchronized void clear() {
         documents.clear();
-        logger.info("Cleared all documents from vector store");
+        index.clear();
+        contentBytes = 0;
+        logger.info("Cleared all documents from vector store namespace {}", name);
     }
 
     /**
@@ -105,4 +248,8 @@ public class InMemoryVectorStore {
     public Optional<Document> getDocument(String id) {
         return Optional.ofNullable(documents.get(id));
     }
+
+    public void close() {
+        index.close();
+    }
 }
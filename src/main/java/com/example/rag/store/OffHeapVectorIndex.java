@@ -0,0 +1,305 @@
+package com.example.rag.store;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Vector index that keeps all vectors in an off-heap arena.
+ * <p>
+ * The arena is a list of direct buffer chunks, each holding a fixed number of
+ * fixed-stride slots. The heap only holds the id-to-slot mapping. Deleted slots are
+ * reused by later inserts, and a background task compacts the arena by moving the
+ * highest occupied slots into holes so trailing chunks can be released.
+ * Scoring reads directly from the buffers without copying vectors onto the heap.
+ */
+public class OffHeapVectorIndex implements VectorIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapVectorIndex.class);
+
+    private static final int MAX_MOVES_PER_LOCK = 256;
+
+    private final int slotsPerChunk;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<FloatBuffer> chunks = new ArrayList<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final BitSet occupied = new BitSet();
+    private final ScheduledExecutorService compactor;
+
+    private String[] owners = new String[0];
+    private int dimensions;
+
+    /**
+     * @param slotsPerChunk      number of vectors per direct buffer chunk
+     * @param compactionInterval delay between background compaction passes
+     */
+    public OffHeapVectorIndex(int slotsPerChunk, Duration compactionInterval) {
+        this.slotsPerChunk = slotsPerChunk;
+        this.compactor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("vector-arena-compactor").factory());
+        this.compactor.scheduleWithFixedDelay(this::compactIfFragmented,
+                compactionInterval.toMillis(), compactionInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void put(String id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            if (dimensions == 0) {
+                dimensions = vector.length;
+            } else if (vector.length != dimensions) {
+                throw new IllegalArgumentException("Vectors must have same dimensions");
+            }
+
+            Integer slot = slots.get(id);
+            if (slot == null) {
+                slot = occupied.nextClearBit(0);
+                ensureCapacity(slot);
+                occupied.set(slot);
+                owners[slot] = id;
+                slots.put(id, slot);
+            }
+            chunk(slot).put(offset(slot), vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return false;
+            }
+            occupied.clear(slot);
+            owners[slot] = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void scoreAll(float[] query, ScoreConsumer consumer) {
+        lock.readLock().lock();
+        try {
+            if (dimensions != 0 && query.length != dimensions) {
+                throw new IllegalArgumentException("Vectors must have same dimensions");
+            }
+            for (int slot = occupied.nextSetBit(0); slot >= 0; slot = occupied.nextSetBit(slot + 1)) {
+                FloatBuffer chunk = chunk(slot);
+                int base = offset(slot);
+                double sum = 0.0;
+                for (int i = 0; i < dimensions; i++) {
+                    sum += chunk.get(base + i) * query[i];
+                }
+                consumer.accept(owners[slot], sum);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public double dot(String id1, String id2) {
+        lock.readLock().lock();
+        try {
+            Integer slot1 = slots.get(id1);
+            Integer slot2 = slots.get(id2);
+            if (slot1 == null || slot2 == null) {
+                return Double.NaN;
+            }
+            FloatBuffer chunk1 = chunk(slot1);
+            FloatBuffer chunk2 = chunk(slot2);
+            int base1 = offset(slot1);
+            int base2 = offset(slot2);
+            double sum = 0.0;
+            for (int i = 0; i < dimensions; i++) {
+                sum += chunk1.get(base1 + i) * chunk2.get(base2 + i);
+            }
+            return sum;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Move the highest occupied slots into the lowest free slots and release chunks
+     * that are no longer needed. The write lock is released every
+     * {@value #MAX_MOVES_PER_LOCK} moves so searches are not blocked for long.
+     *
+     * @return number of vectors moved
+     */
+    public int compact() {
+        int moved = 0;
+        boolean done = false;
+        while (!done) {
+            lock.writeLock().lock();
+            try {
+                for (int batch = 0; batch < MAX_MOVES_PER_LOCK; batch++) {
+                    int hole = occupied.nextClearBit(0);
+                    int last = occupied.length() - 1;
+                    if (last < hole) {
+                        done = true;
+                        break;
+                    }
+                    move(last, hole);
+                    moved++;
+                }
+                releaseTrailingChunks();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return moved;
+    }
+
+    private void compactIfFragmented() {
+        boolean fragmented;
+        lock.readLock().lock();
+        try {
+            fragmented = occupied.cardinality() < occupied.length()
+                    || chunks.size() > chunksFor(occupied.length());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (fragmented) {
+            try {
+                int moved = compact();
+                logger.debug("Compacted vector arena: moved {} vectors, {} chunks in use", moved, chunkCount());
+            } catch (RuntimeException e) {
+                logger.warn("Vector arena compaction failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void move(int from, int to) {
+        ensureCapacity(to);
+        chunk(to).put(offset(to), chunk(from), offset(from), dimensions);
+        String id = owners[from];
+        owners[to] = id;
+        owners[from] = null;
+        occupied.set(to);
+        occupied.clear(from);
+        slots.put(id, to);
+    }
+
+    private void ensureCapacity(int slot) {
+        while (slot >= chunks.size() * slotsPerChunk) {
+            int floats = slotsPerChunk * dimensions;
+            chunks.add(ByteBuffer.allocateDirect(floats * Float.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asFloatBuffer());
+            owners = Arrays.copyOf(owners, chunks.size() * slotsPerChunk);
+        }
+    }
+
+    /**
+     * Drop chunks past the highest occupied slot. Their native memory is returned
+     * once the buffers are garbage collected.
+     */
+    private void releaseTrailingChunks() {
+        int needed = chunksFor(occupied.length());
+        while (chunks.size() > needed) {
+            chunks.remove(chunks.size() - 1);
+        }
+        owners = Arrays.copyOf(owners, chunks.size() * slotsPerChunk);
+        if (chunks.isEmpty()) {
+            dimensions = 0;
+        }
+    }
+
+    private int chunksFor(int slotCount) {
+        return (slotCount + slotsPerChunk - 1) / slotsPerChunk;
+    }
+
+    private FloatBuffer chunk(int slot) {
+        return chunks.get(slot / slotsPerChunk);
+    }
+
+    private int offset(int slot) {
+        return (slot % slotsPerChunk) * dimensions;
+    }
+
+    private int chunkCount() {
+        lock.readLock().lock();
+        try {
+            return chunks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int dimensions() {
+        lock.readLock().lock();
+        try {
+            return dimensions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long vectorBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) chunks.size() * slotsPerChunk * dimensions * Float.BYTES;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isOffHeap() {
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            occupied.clear();
+            chunks.clear();
+            owners = new String[0];
+            dimensions = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        compactor.shutdownNow();
+        clear();
+    }
+}
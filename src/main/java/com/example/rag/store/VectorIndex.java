@@ -0,0 +1,56 @@
+package com.example.rag.store;
+
+/**
+ * Storage layout for unit-length document vectors, keyed by document id.
+ */
+public interface VectorIndex extends AutoCloseable {
+
+    /**
+     * Callback receiving the dot product of the query with each stored vector.
+     */
+    @FunctionalInterface
+    interface ScoreConsumer {
+        void accept(String id, double dot);
+    }
+
+    /**
+     * Store or replace the vector for a document. The vector must already be normalized.
+     */
+    void put(String id, float[] vector);
+
+    /**
+     * Remove the vector for a document.
+     *
+     * @return true if a vector was removed
+     */
+    boolean remove(String id);
+
+    /**
+     * Score every stored vector against the query.
+     */
+    void scoreAll(float[] query, ScoreConsumer consumer);
+
+    /**
+     * Dot product between two stored vectors, or {@link Double#NaN} if either is missing.
+     */
+    double dot(String id1, String id2);
+
+    int size();
+
+    int dimensions();
+
+    /**
+     * Bytes used by vector data, on or off the heap depending on the layout.
+     */
+    long vectorBytes();
+
+    /**
+     * Whether vector data lives outside the Java heap.
+     */
+    boolean isOffHeap();
+
+    void clear();
+
+    @Override
+    void close();
+}
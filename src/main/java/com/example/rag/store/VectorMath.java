@@ -0,0 +1,48 @@
+package com.example.rag.store;
+
+/**
+ * Primitive vector operations on {@code float[]} embeddings.
+ */
+public final class VectorMath {
+
+    private VectorMath() {
+    }
+
+    /**
+     * Scale the vector to unit length in place. Zero vectors are left unchanged.
+     *
+     * @return the same array
+     */
+    public static float[] normalize(float[] vector) {
+        double norm = norm(vector);
+        if (norm == 0.0) {
+            return vector;
+        }
+        float scale = (float) (1.0 / norm);
+        for (int i = 0; i < vector.length; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+
+    /**
+     * Euclidean length of the vector.
+     */
+    public static double norm(float[] vector) {
+        return Math.sqrt(dot(vector, vector));
+    }
+
+    /**
+     * Dot product of two vectors of equal dimension.
+     */
+    public static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Vectors must have same dimensions");
+        }
+        double sum = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.rag.store;
+
+/**
+ * A named, isolated collection of documents with its own index and retrieval settings.
+ *
+ * @param name                namespace name
+ * @param store               vector store holding the namespace's documents
+ * @param similarityThreshold minimum similarity for retrieval
+ * @param maxResults          number of documents sent to the LLM
+ */
+public record VectorNamespace(String name,
+        InMemoryVectorStore store,
+        double similarityThreshold,
+        int maxResults) {
+}
@@ -0,0 +1,67 @@
+package com.example.rag.store;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of the configured vector namespaces.
+ * Every namespace has its own store, so search cost depends only on that
+ * namespace's corpus.
+ */
+public class VectorStoreRegistry implements AutoCloseable {
+
+    public static final String DEFAULT_NAMESPACE = "default";
+
+    private final Map<String, VectorNamespace> namespaces;
+
+    public VectorStoreRegistry(Collection<VectorNamespace> namespaces) {
+        Map<String, VectorNamespace> byName = new LinkedHashMap<>();
+        for (VectorNamespace namespace : namespaces) {
+            byName.put(namespace.name(), namespace);
+        }
+        if (!byName.containsKey(DEFAULT_NAMESPACE)) {
+            throw new IllegalArgumentException("The '" + DEFAULT_NAMESPACE + "' namespace must be configured");
+        }
+        this.namespaces = Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Find a namespace by name.
+     */
+    public Optional<VectorNamespace> find(String name) {
+        return Optional.ofNullable(namespaces.get(name));
+    }
+
+    /**
+     * Get the namespace used when a request does not select one.
+     */
+    public VectorNamespace getDefault() {
+        return namespaces.get(DEFAULT_NAMESPACE);
+    }
+
+    public Collection<VectorNamespace> getNamespaces() {
+        return namespaces.values();
+    }
+
+    /**
+     * Size, memory and query latency statistics per namespace.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (VectorNamespace namespace : namespaces.values()) {
+            Map<String, Object> namespaceStats = new LinkedHashMap<>(namespace.store().getStats());
+            namespaceStats.put("similarityThreshold", namespace.similarityThreshold());
+            namespaceStats.put("maxResults", namespace.maxResults());
+            stats.put(namespace.name(), namespaceStats);
+        }
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        namespaces.values().forEach(namespace -> namespace.store().close());
+    }
+}
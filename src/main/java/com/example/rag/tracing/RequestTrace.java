@@ -0,0 +1,77 @@
+package com.example.rag.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing and size information collected for a single request.
+ */
+public class RequestTrace {
+
+    private final String traceId;
+    private final long startNanos = System.nanoTime();
+    private final List<Stage> stages = new ArrayList<>(8);
+
+    private String namespace;
+    private String question;
+    private int documentCount;
+    private int promptChars;
+
+    public RequestTrace(String traceId) {
+        this.traceId = traceId;
+    }
+
+    void addStage(String name, long durationNanos) {
+        stages.add(new Stage(name, durationNanos));
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public List<Stage> getStages() {
+        return stages;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public void setNamespace(String namespace) {
+        this.namespace = namespace;
+    }
+
+    public String getQuestion() {
+        return question;
+    }
+
+    public void setQuestion(String question) {
+        this.question = question;
+    }
+
+    public int getDocumentCount() {
+        return documentCount;
+    }
+
+    public void setDocumentCount(int documentCount) {
+        this.documentCount = documentCount;
+    }
+
+    public int getPromptChars() {
+        return promptChars;
+    }
+
+    public void setPromptChars(int promptChars) {
+        this.promptChars = promptChars;
+    }
+
+    /**
+     * A timed pipeline stage.
+     */
+    public record Stage(String name, long durationNanos) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.rag.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled log of requests slower than a latency threshold.
+ * Entries go to the {@code rag.slow-query} logger as one line per request.
+ */
+@Component
+public class SlowQueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger("rag.slow-query");
+
+    private static final int MAX_QUESTION_CHARS = 200;
+
+    @Value("${rag.tracing.slow-query.threshold-ms:2000}")
+    private long thresholdMs;
+
+    @Value("${rag.tracing.slow-query.sample-rate:1.0}")
+    private double sampleRate;
+
+    /**
+     * Log the trace if it exceeded the threshold and is selected by sampling.
+     */
+    public void record(RequestTrace trace) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(trace.getElapsedNanos());
+        if (elapsedMs < thresholdMs || !logger.isWarnEnabled()) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        StringBuilder stages = new StringBuilder();
+        for (RequestTrace.Stage stage : trace.getStages()) {
+            if (!stages.isEmpty()) {
+                stages.append(',');
+            }
+            stages.append(stage.name()).append('=')
+                    .append(TimeUnit.NANOSECONDS.toMillis(stage.durationNanos())).append("ms");
+        }
+
+        String question = trace.getQuestion();
+        if (question != null) {
+            if (question.length() > MAX_QUESTION_CHARS) {
+                question = question.substring(0, MAX_QUESTION_CHARS) + "...";
+            }
+            question = question.replaceAll("[\\r\\n\"]", " ");
+        }
+
+        logger.warn("traceId={} totalMs={} stages=[{}] namespace={} documents={} promptChars={} question=\"{}\"",
+                trace.getTraceId(), elapsedMs, stages, trace.getNamespace(), trace.getDocumentCount(),
+                trace.getPromptChars(), question);
+    }
+}
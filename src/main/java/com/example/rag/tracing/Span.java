@@ -0,0 +1,27 @@
+package com.example.rag.tracing;
+
+/**
+ * Times a pipeline stage from creation until {@link #close()}.
+ * Intended for use in try-with-resources blocks.
+ */
+public final class Span implements AutoCloseable {
+
+    static final Span NOOP = new Span(null, null);
+
+    private final RequestTrace trace;
+    private final String name;
+    private final long startNanos;
+
+    Span(RequestTrace trace, String name) {
+        this.trace = trace;
+        this.name = name;
+        this.startNanos = trace != null ? System.nanoTime() : 0L;
+    }
+
+    @Override
+    public void close() {
+        if (trace != null) {
+            trace.addStage(name, System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rag.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Assigns a trace id to every request, returns it in the {@value #TRACE_HEADER}
+ * response header and exposes it to log lines through the MDC.
+ * A trace id supplied by the caller in the same header is reused. When tracing is
+ * disabled, requests pass through untouched.
+ */
+@Component
+public class TraceFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_HEADER = "X-Trace-Id";
+
+    private static final String MDC_KEY = "traceId";
+
+    private final Tracer tracer;
+    private final SlowQueryLog slowQueryLog;
+
+    public TraceFilter(Tracer tracer, SlowQueryLog slowQueryLog) {
+        this.tracer = tracer;
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String traceId = tracer.begin(request.getHeader(TRACE_HEADER));
+        if (traceId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(TRACE_HEADER, traceId);
+        MDC.put(MDC_KEY, traceId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTrace trace = tracer.end();
+            if (trace != null) {
+                slowQueryLog.record(trace);
+            }
+            MDC.remove(MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.rag.tracing;
+
+import java.util.List;
+
+/**
+ * Stage timings and prompt size of a pipeline execution, captured on the thread
+ * that ran it so requests coalesced into the execution can record them too.
+ */
+public final class TraceSnapshot {
+
+    final RequestTrace source;
+    final List<RequestTrace.Stage> stages;
+    final int promptChars;
+
+    TraceSnapshot(RequestTrace source, List<RequestTrace.Stage> stages, int promptChars) {
+        this.source = source;
+        this.stages = stages;
+        this.promptChars = promptChars;
+    }
+
+    public List<RequestTrace.Stage> getStages() {
+        return stages;
+    }
+
+    public int getPromptChars() {
+        return promptChars;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.rag.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the trace of the request being processed on the current thread.
+ * When tracing is disabled, or outside a traced request, every operation is a
+ * no-op that neither allocates nor reads the clock.
+ */
+@Component
+public class Tracer {
+
+    private static final Pattern VALID_TRACE_ID = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final ThreadLocal<RequestTrace> current = new ThreadLocal<>();
+
+    @Value("${rag.tracing.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Start tracing a request on the current thread.
+     *
+     * @param traceId incoming trace id; a new one is generated if it is missing or malformed
+     * @return the trace id propagated to the caller, or null if tracing is disabled
+     */
+    public String begin(String traceId) {
+        if (!enabled) {
+            return null;
+        }
+        String id = traceId != null && VALID_TRACE_ID.matcher(traceId).matches() ? traceId : newTraceId();
+        current.set(new RequestTrace(id));
+        return id;
+    }
+
+    /**
+     * Stop tracing on the current thread.
+     *
+     * @return the finished trace, or null if tracing was disabled
+     */
+    public RequestTrace end() {
+        RequestTrace trace = current.get();
+        current.remove();
+        return trace;
+    }
+
+    /**
+     * Open a span for a pipeline stage.
+     */
+    public Span span(String name) {
+        RequestTrace trace = current.get();
+        return trace != null ? new Span(trace, name) : Span.NOOP;
+    }
+
+    public void recordQuestion(String question) {
+        RequestTrace trace = current.get();
+        if (trace != null) {
+            trace.setQuestion(question);
+        }
+    }
+
+    public void recordNamespace(String namespace) {
+        RequestTrace trace = current.get();
+        if (trace != null) {
+            trace.setNamespace(namespace);
+        }
+    }
+
+    public void recordDocuments(int documentCount) {
+        RequestTrace trace = current.get();
+        if (trace != null) {
+            trace.setDocumentCount(documentCount);
+        }
+    }
+
+    public void recordPromptSize(int promptChars) {
+        RequestTrace trace = current.get();
+        if (trace != null) {
+            trace.setPromptChars(promptChars);
+        }
+    }
+
+    /**
+     * Capture the stages and prompt size recorded so far on the current thread.
+     *
+     * @return the snapshot, or null outside a traced request
+     */
+    public TraceSnapshot snapshot() {
+        RequestTrace trace = current.get();
+        return trace != null
+                ? new TraceSnapshot(trace, List.copyOf(trace.getStages()), trace.getPromptChars())
+                : null;
+    }
+
+    /**
+     * Record the stages and prompt size of a pipeline execution this request was
+     * coalesced into. Nothing is recorded when the snapshot was taken from the
+     * current request itself, whose stages are already traced.
+     */
+    public void recordCoalesced(TraceSnapshot snapshot) {
+        RequestTrace trace = current.get();
+        if (trace == null || snapshot == null || snapshot.source == trace) {
+            return;
+        }
+        for (RequestTrace.Stage stage : snapshot.stages) {
+            trace.addStage(stage.name(), stage.durationNanos());
+        }
+        trace.setPromptChars(snapshot.promptChars);
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x", random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.rag.client;
+
+import com.example.rag.exception.ModelClientException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientModelClientTest {
+
+    private ResilientCallExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.close();
+        }
+    }
+
+    @Test
+    void timesOutSlowCall() {
+        executor = new ResilientCallExecutor(settings(Duration.ofMillis(100), false, 5));
+        StubChatModel stub = new StubChatModel();
+        stub.latencies.add(2_000L);
+        ResilientChatModel chatModel = new ResilientChatModel(stub, executor);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> chatModel.call("question"))
+                .isInstanceOf(ModelClientException.class)
+                .hasMessageContaining("timed out");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_000));
+        assertThat(executor.getTimeouts()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgedRequestWinsOverSlowPrimary() {
+        executor = new ResilientCallExecutor(settings(Duration.ofSeconds(5), true, 5));
+        StubChatModel stub = new StubChatModel();
+        ResilientChatModel chatModel = new ResilientChatModel(stub, executor);
+
+        // Build latency history so the hedging percentile is known
+        for (int i = 0; i < 10; i++) {
+            assertThat(chatModel.call("warm-up")).isEqualTo("answer");
+        }
+
+        stub.latencies.add(3_000L);
+        long start = System.nanoTime();
+        assertThat(chatModel.call("question")).isEqualTo("answer");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1_000));
+        assertThat(executor.getHedgesFired()).isEqualTo(1);
+        assertThat(executor.getHedgesWon()).isEqualTo(1);
+    }
+
+    @Test
+    void circuitBreakerFailsFastAfterRepeatedFaults() {
+        executor = new ResilientCallExecutor(settings(Duration.ofSeconds(1), false, 3));
+        StubEmbeddingModel stub = new StubEmbeddingModel();
+        stub.failing = true;
+        ResilientEmbeddingModel embeddingModel = new ResilientEmbeddingModel(stub, executor);
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> embeddingModel.embedForResponse(List.of("text")))
+                    .isInstanceOf(ModelClientException.class)
+                    .hasMessageContaining("provider unavailable");
+        }
+
+        assertThat(executor.getCircuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> embeddingModel.embedForResponse(List.of("text")))
+                .isInstanceOf(ModelClientException.class)
+                .hasMessageContaining("circuit breaker is open")
+                .extracting(e -> ((ModelClientException) e).getReason())
+                .isEqualTo(ModelClientException.Reason.CIRCUIT_OPEN);
+        assertThat(stub.calls.get()).isEqualTo(3);
+        assertThat(executor.getCircuitRejections()).isEqualTo(1);
+        assertThat(executor.getRateLimitRejections()).isZero();
+    }
+
+    @Test
+    void rateLimitedCallsAreCountedSeparately() {
+        // One token per ten seconds, so the second call cannot get a token within its timeout
+        executor = new ResilientCallExecutor(new ResilientCallExecutor.Settings("test", Duration.ofMillis(50),
+                0.1, 1, false, 95.0, Duration.ofMillis(10), 3, Duration.ofSeconds(30)));
+        ResilientEmbeddingModel embeddingModel = new ResilientEmbeddingModel(new StubEmbeddingModel(), executor);
+
+        embeddingModel.embedForResponse(List.of("text"));
+
+        assertThatThrownBy(() -> embeddingModel.embedForResponse(List.of("text")))
+                .isInstanceOf(ModelClientException.class)
+                .extracting(e -> ((ModelClientException) e).getReason())
+                .isEqualTo(ModelClientException.Reason.RATE_LIMITED);
+        assertThat(executor.getRateLimitRejections()).isEqualTo(1);
+        assertThat(executor.getCircuitRejections()).isZero();
+        assertThat(executor.getCircuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void embeddingCallsPassThrough() {
+        executor = new ResilientCallExecutor(settings(Duration.ofSeconds(1), false, 3));
+        ResilientEmbeddingModel embeddingModel = new ResilientEmbeddingModel(new StubEmbeddingModel(), executor);
+
+        EmbeddingResponse response = embeddingModel.embedForResponse(List.of("text"));
+
+        assertThat(response.getResults().get(0).getOutput()).containsExactly(1.0f, 0.0f);
+    }
+
+    @Test
+    void dimensionsAreLookedUpThroughExecutorOnce() {
+        executor = new ResilientCallExecutor(settings(Duration.ofSeconds(1), false, 3));
+        StubEmbeddingModel stub = new StubEmbeddingModel();
+        stub.failing = true;
+        ResilientEmbeddingModel embeddingModel = new ResilientEmbeddingModel(stub, executor);
+
+        // The default dimensions() embeds a probe text, so a provider failure is a client failure
+        assertThatThrownBy(embeddingModel::dimensions).isInstanceOf(ModelClientException.class);
+
+        stub.failing = false;
+        assertThat(embeddingModel.dimensions()).isEqualTo(2);
+        assertThat(embeddingModel.dimensions()).isEqualTo(2);
+        assertThat(stub.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void rateLimiterRejectsBeyondBurst() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1.0, 2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(10).toNanos())).isFalse();
+        assertThat(limiter.tryAcquire(Duration.ofSeconds(2).toNanos())).isTrue();
+    }
+
+    private ResilientCallExecutor.Settings settings(Duration timeout, boolean hedge, int failureThreshold) {
+        return new ResilientCallExecutor.Settings("test", timeout, 0.0, 1, hedge, 95.0,
+                Duration.ofMillis(50), failureThreshold, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Chat model that answers after a scripted latency (default 5ms).
+     */
+    private static class StubChatModel implements ChatModel {
+
+        final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            Long latency = latencies.poll();
+            sleep(latency != null ? latency : 5L);
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("answer"))));
+        }
+    }
+
+    /**
+     * Embedding model that returns a fixed vector or fails on demand.
+     */
+    private static class StubEmbeddingModel implements EmbeddingModel {
+
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean failing;
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            calls.incrementAndGet();
+            if (failing) {
+                throw new IllegalStateException("provider unavailable");
+            }
+            return new EmbeddingResponse(List.of(new Embedding(new float[] {1.0f, 0.0f}, 0)));
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return call(null).getResults().get(0).getOutput();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.rag.ingest;
+
+import com.example.rag.model.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentDeduplicatorTest {
+
+    private static final String NAMESPACE = "default";
+
+    private static final String RAG = "Retrieval-Augmented Generation (RAG) is an AI pattern that combines "
+            + "information retrieval with generative AI. Instead of relying solely on the LLM's training data, "
+            + "RAG retrieves relevant documents from a knowledge base and uses them as context for generating "
+            + "answers. This approach reduces hallucination and enables answers based on current, specific "
+            + "information.";
+
+    private ContentDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new ContentDeduplicator();
+        ReflectionTestUtils.setField(deduplicator, "enabled", true);
+        ReflectionTestUtils.setField(deduplicator, "nearDuplicateSimilarity", 0.8);
+        deduplicator.init();
+        deduplicator.register(NAMESPACE, new Document("doc-1", RAG));
+    }
+
+    @Test
+    void detectsExactDuplicate() {
+        assertThat(deduplicator.findDuplicate(NAMESPACE, new Document("copy", RAG)))
+                .contains(new ContentDeduplicator.Match("doc-1", true));
+    }
+
+    @Test
+    void detectsNearDuplicate() {
+        Document edited = new Document("edited", RAG.replace("reduces", "lowers") + " Copyright 2026.");
+
+        assertThat(deduplicator.findDuplicate(NAMESPACE, edited))
+                .contains(new ContentDeduplicator.Match("doc-1", false));
+    }
+
+    @Test
+    void acceptsDistinctDocument() {
+        Document other = new Document("doc-3", "Vector embeddings are numerical representations of text "
+                + "that capture semantic meaning.");
+
+        assertThat(deduplicator.findDuplicate(NAMESPACE, other)).isEmpty();
+    }
+
+    @Test
+    void acceptsDistinctNonLatinDocuments() {
+        deduplicator.register(NAMESPACE, new Document("ru-1",
+                "Быстрая коричневая лиса прыгает через ленивую собаку и убегает в лес"));
+        deduplicator.register(NAMESPACE, new Document("ja-1", "検索拡張生成は文書を取得して回答を生成する"));
+
+        assertThat(deduplicator.findDuplicate(NAMESPACE, new Document("ru-2",
+                "Векторные представления текста позволяют искать документы по смыслу запроса"))).isEmpty();
+        assertThat(deduplicator.findDuplicate(NAMESPACE, new Document("ja-2", "東京は日本の首都であり人口が多い")))
+                .isEmpty();
+    }
+
+    @Test
+    void unchangedDocumentMatchesItself() {
+        assertThat(deduplicator.findDuplicate(NAMESPACE, new Document("doc-1", RAG)))
+                .contains(new ContentDeduplicator.Match("doc-1", true));
+    }
+
+    @Test
+    void editedVersionOfSameIdIsNotADuplicate() {
+        Document edited = new Document("doc-1", RAG.replace("reduces", "lowers"));
+
+        assertThat(deduplicator.findDuplicate(NAMESPACE, edited)).isEmpty();
+
+        // The old content hash is forgotten, so the original text is now only a near duplicate
+        deduplicator.register(NAMESPACE, edited);
+        assertThat(deduplicator.findDuplicate(NAMESPACE, new Document("copy", RAG)))
+                .contains(new ContentDeduplicator.Match("doc-1", false));
+    }
+
+    @Test
+    void namespacesAreDeduplicatedSeparately() {
+        assertThat(deduplicator.findDuplicate("other", new Document("copy", RAG))).isEmpty();
+    }
+
+    @Test
+    void mapsDuplicateToCanonicalId() {
+        deduplicator.registerDuplicate(NAMESPACE, new Document("copy", RAG), "doc-1");
+
+        assertThat(deduplicator.resolveCanonicalId(NAMESPACE, "copy")).contains("doc-1");
+    }
+}
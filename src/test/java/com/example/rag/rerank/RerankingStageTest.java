@@ -0,0 +1,83 @@
+package com.example.rag.rerank;
+
+import com.example.rag.model.Document;
+import com.example.rag.model.RetrievedDocument;
+import com.example.rag.store.InMemoryVectorStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RerankingStageTest {
+
+    private static final float[] QUERY = {1.0f, 0.0f};
+
+    private RerankingStage stage;
+
+    @AfterEach
+    void tearDown() {
+        if (stage != null) {
+            stage.shutdown();
+        }
+    }
+
+    @Test
+    void mmrPrefersDiverseDocuments() {
+        InMemoryVectorStore store = new InMemoryVectorStore();
+        store.addDocument(new Document("a", "a", new float[] {1.0f, 0.1f}));
+        store.addDocument(new Document("a-copy", "a copy", new float[] {1.0f, 0.11f}));
+        store.addDocument(new Document("b", "b", new float[] {0.7f, -0.7f}));
+
+        MmrReranker mmr = new MmrReranker();
+        ReflectionTestUtils.setField(mmr, "lambda", 0.5);
+        stage = newStage(mmr, 1_000);
+
+        List<RetrievedDocument> result = stage.rerank(store, QUERY, store.similaritySearch(QUERY, 3, 0.0), 2);
+
+        assertThat(result).extracting(RetrievedDocument::getDocumentId).containsExactly("a", "b");
+    }
+
+    @Test
+    void fallsBackToSimilarityOrderWhenBudgetExceeded() {
+        Reranker slow = new Reranker() {
+            @Override
+            public String getName() {
+                return "slow";
+            }
+
+            @Override
+            public List<RetrievedDocument> rerank(InMemoryVectorStore store, float[] queryEmbedding,
+                    List<RetrievedDocument> candidates, int topK, long deadlineNanos) {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of(candidates.get(2));
+            }
+        };
+        stage = newStage(slow, 20);
+
+        List<RetrievedDocument> candidates = List.of(
+                new RetrievedDocument("1", "one", 0.9),
+                new RetrievedDocument("2", "two", 0.8),
+                new RetrievedDocument("3", "three", 0.7));
+
+        List<RetrievedDocument> result = stage.rerank(new InMemoryVectorStore(), QUERY, candidates, 2);
+
+        assertThat(result).extracting(RetrievedDocument::getDocumentId).containsExactly("1", "2");
+    }
+
+    private RerankingStage newStage(Reranker reranker, long budgetMs) {
+        RerankingStage rerankingStage = new RerankingStage(List.of(reranker));
+        ReflectionTestUtils.setField(rerankingStage, "enabled", true);
+        ReflectionTestUtils.setField(rerankingStage, "strategy", reranker.getName());
+        ReflectionTestUtils.setField(rerankingStage, "candidates", 50);
+        ReflectionTestUtils.setField(rerankingStage, "timeBudgetMs", budgetMs);
+        rerankingStage.init();
+        return rerankingStage;
+    }
+}
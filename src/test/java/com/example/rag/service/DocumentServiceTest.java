@@ -0,0 +1,213 @@
+package com.example.rag.service;
+
+import com.example.rag.exception.NamespaceQuotaExceededException;
+import com.example.rag.ingest.ContentDeduplicator;
+import com.example.rag.model.IngestionReport;
+import com.example.rag.store.HeapVectorIndex;
+import com.example.rag.store.InMemoryVectorStore;
+import com.example.rag.store.VectorNamespace;
+import com.example.rag.store.VectorStoreRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentServiceTest {
+
+    private static final String RAG_TEXT = "Retrieval-Augmented Generation combines information retrieval "
+            + "with generative models to ground answers in documents.";
+    private static final String EMBEDDINGS_TEXT = "Vector embeddings are numerical representations of text "
+            + "that capture semantic meaning for similarity search.";
+
+    private StubEmbeddingModel embeddingModel;
+    private InMemoryVectorStore store;
+    private DocumentService documentService;
+
+    @BeforeEach
+    void setUp() {
+        embeddingModel = new StubEmbeddingModel();
+        store = new InMemoryVectorStore();
+        documentService = newDocumentService(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        documentService.stopCorpusLoading();
+    }
+
+    @Test
+    void loadsCorpusInBackgroundAfterProviderFailures() throws InterruptedException {
+        embeddingModel.failuresLeft.set(2);
+
+        assertThat(documentService.getIndexState()).isEqualTo(DocumentService.IndexState.WARMING);
+        documentService.startCorpusLoading();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!documentService.isIndexReady() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(documentService.getIndexState()).isEqualTo(DocumentService.IndexState.READY);
+        assertThat(store.size()).isEqualTo(documentService.getSampleDocuments().size());
+        // Two failed attempts, then one call per sample document
+        assertThat(embeddingModel.calls.get()).isEqualTo(2 + documentService.getSampleDocuments().size());
+    }
+
+    @Test
+    void warmupSkipsDocumentsOverQuotaWithoutEmbeddingThem() {
+        store = new InMemoryVectorStore("default", new HeapVectorIndex(), 100);
+        documentService = newDocumentService(store);
+
+        documentService.initialize();
+
+        IngestionReport report = documentService.getLastIngestionReport();
+        assertThat(documentService.isIndexReady()).isTrue();
+        assertThat(report.getQuotaRejections()).isEqualTo(documentService.getSampleDocuments().size());
+        assertThat(store.size()).isZero();
+        assertThat(embeddingModel.calls.get()).isZero();
+    }
+
+    @Test
+    void quotaCheckUsesConfiguredDimensionsBeforeEmbedding() {
+        store = new InMemoryVectorStore("default", new HeapVectorIndex(), 10);
+        documentService = newDocumentService(store);
+        ReflectionTestUtils.setField(documentService, "configuredDimensions", 2);
+
+        // 4 bytes of content plus a 2-dimensional vector do not fit in 10 bytes
+        assertThatThrownBy(() -> documentService.ingestDocuments("default",
+                List.of(new com.example.rag.model.Document("doc-1", "ab"))))
+                .isInstanceOf(NamespaceQuotaExceededException.class);
+        assertThat(embeddingModel.calls.get()).isZero();
+    }
+
+    @Test
+    void ingestionFailsWhenEmbeddedVectorExceedsQuota() {
+        // No dimensions are configured and the store is empty, so only the store's own check catches it
+        store = new InMemoryVectorStore("default", new HeapVectorIndex(), 10);
+        documentService = newDocumentService(store);
+
+        assertThatThrownBy(() -> documentService.ingestDocuments("default",
+                List.of(new com.example.rag.model.Document("doc-1", "ab"))))
+                .isInstanceOf(NamespaceQuotaExceededException.class);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void reingestingUnchangedDocumentsSkipsEmbedding() {
+        List<com.example.rag.model.Document> corpus = List.of(
+                new com.example.rag.model.Document("a", RAG_TEXT),
+                new com.example.rag.model.Document("b", EMBEDDINGS_TEXT));
+        documentService.ingestDocuments("default", corpus);
+
+        IngestionReport report = documentService.ingestDocuments("default", corpus);
+
+        assertThat(report.getUnchanged()).isEqualTo(2);
+        assertThat(report.getEmbeddingCallsSaved()).isEqualTo(2);
+        assertThat(embeddingModel.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void storedDocumentReplacedByDuplicateContentIsRemoved() {
+        documentService.ingestDocuments("default", List.of(
+                new com.example.rag.model.Document("a", RAG_TEXT),
+                new com.example.rag.model.Document("b", EMBEDDINGS_TEXT)));
+
+        IngestionReport report = documentService.ingestDocuments("default",
+                List.of(new com.example.rag.model.Document("b", RAG_TEXT)));
+
+        assertThat(report.getExactDuplicates()).isEqualTo(1);
+        assertThat(store.getDocument("b")).isEmpty();
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(documentService.getCanonicalId("default", "b")).contains("a");
+
+        // The old content of b is forgotten, so it is new content again
+        IngestionReport reingested = documentService.ingestDocuments("default",
+                List.of(new com.example.rag.model.Document("c", EMBEDDINGS_TEXT)));
+        assertThat(reingested.getDocumentsEmbedded()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentIngestionsOfSameContentEmbedOnce() throws Exception {
+        embeddingModel.latencyMs = 50;
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(2)) {
+            Future<IngestionReport> first = pool.submit(() -> documentService.ingestDocuments("default",
+                    List.of(new com.example.rag.model.Document("a", RAG_TEXT))));
+            Future<IngestionReport> second = pool.submit(() -> documentService.ingestDocuments("default",
+                    List.of(new com.example.rag.model.Document("b", RAG_TEXT))));
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+        }
+
+        assertThat(embeddingModel.calls.get()).isEqualTo(1);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    private DocumentService newDocumentService(InMemoryVectorStore defaultStore) {
+        ContentDeduplicator deduplicator = new ContentDeduplicator();
+        ReflectionTestUtils.setField(deduplicator, "enabled", true);
+        ReflectionTestUtils.setField(deduplicator, "nearDuplicateSimilarity", 0.8);
+        deduplicator.init();
+
+        DocumentService service = new DocumentService(embeddingModel, registry(defaultStore), deduplicator);
+        ReflectionTestUtils.setField(service, "initialBackoffMs", 1L);
+        ReflectionTestUtils.setField(service, "maxBackoffMs", 5L);
+        return service;
+    }
+
+    private VectorStoreRegistry registry(InMemoryVectorStore defaultStore) {
+        return new VectorStoreRegistry(List.of(
+                new VectorNamespace(VectorStoreRegistry.DEFAULT_NAMESPACE, defaultStore, 0.0, 2)));
+    }
+
+    /**
+     * Embedding model that fails a scripted number of calls, then returns a fixed vector.
+     */
+    private static class StubEmbeddingModel implements EmbeddingModel {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        volatile long latencyMs;
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            calls.incrementAndGet();
+            if (latencyMs > 0) {
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("provider unavailable");
+            }
+            return new EmbeddingResponse(List.of(new Embedding(new float[] {1.0f, 0.0f}, 0)));
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return call(null).getResults().get(0).getOutput();
+        }
+
+        @Override
+        public int dimensions() {
+            throw new UnsupportedOperationException("dimensions() would call the provider");
+        }
+    }
+}
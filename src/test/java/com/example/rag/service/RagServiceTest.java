@@ -0,0 +1,142 @@
+package com.example.rag.service;
+
+import com.example.rag.exception.NamespaceNotFoundException;
+import com.example.rag.ingest.ContentDeduplicator;
+import com.example.rag.model.QuestionResponse;
+import com.example.rag.model.RetrievedDocument;
+import com.example.rag.rerank.MmrReranker;
+import com.example.rag.rerank.RerankingStage;
+import com.example.rag.store.InMemoryVectorStore;
+import com.example.rag.store.VectorNamespace;
+import com.example.rag.store.VectorStoreRegistry;
+import com.example.rag.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RagServiceTest {
+
+    private StubEmbeddingModel embeddingModel;
+    private VectorStoreRegistry registry;
+    private DocumentService documentService;
+    private RerankingStage rerankingStage;
+    private RagService ragService;
+
+    @BeforeEach
+    void setUp() {
+        embeddingModel = new StubEmbeddingModel();
+        registry = new VectorStoreRegistry(List.of(
+                new VectorNamespace(VectorStoreRegistry.DEFAULT_NAMESPACE, new InMemoryVectorStore(), 0.0, 2),
+                new VectorNamespace("support", new InMemoryVectorStore(), 0.0, 2)));
+
+        ContentDeduplicator deduplicator = new ContentDeduplicator();
+        ReflectionTestUtils.setField(deduplicator, "enabled", false);
+        ReflectionTestUtils.setField(deduplicator, "nearDuplicateSimilarity", 0.8);
+        deduplicator.init();
+        documentService = new DocumentService(embeddingModel, registry, deduplicator);
+
+        rerankingStage = new RerankingStage(List.of(new MmrReranker()));
+        ReflectionTestUtils.setField(rerankingStage, "enabled", false);
+        rerankingStage.init();
+
+        ragService = new RagService(new StubChatModel(), embeddingModel, registry,
+                rerankingStage, new RequestCoalescer(), new Tracer(), documentService);
+        ReflectionTestUtils.setField(ragService, "promptTemplate",
+                new ClassPathResource("prompts/rag-template.txt"));
+        ReflectionTestUtils.setField(ragService, "noContextTemplate",
+                new ClassPathResource("prompts/no-context-template.txt"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        documentService.stopCorpusLoading();
+        rerankingStage.shutdown();
+    }
+
+    @Test
+    void answersWithoutContextWhileWarming() {
+        QuestionResponse warming = ragService.askQuestion("What is RAG?", null);
+
+        assertThat(warming.isDegraded()).isTrue();
+        assertThat(warming.getRetrievedDocuments()).isEmpty();
+        assertThat(embeddingModel.calls.get()).isZero();
+
+        documentService.initialize();
+        QuestionResponse ready = ragService.askQuestion("What is RAG?", null);
+
+        assertThat(ready.isDegraded()).isFalse();
+        assertThat(ready.getRetrievedDocuments()).isNotEmpty();
+    }
+
+    @Test
+    void otherNamespacesUseRetrievalWhileDefaultIsWarming() {
+        documentService.ingestDocuments("support",
+                List.of(new com.example.rag.model.Document("faq-1", "Reset your password from the login page.")));
+
+        QuestionResponse response = ragService.askQuestion("How do I reset my password?", "support");
+
+        assertThat(documentService.isIndexReady()).isFalse();
+        assertThat(response.isDegraded()).isFalse();
+        assertThat(response.getRetrievedDocuments()).extracting(RetrievedDocument::getDocumentId)
+                .containsExactly("faq-1");
+    }
+
+    @Test
+    void rejectsUnknownNamespace() {
+        assertThatThrownBy(() -> ragService.askQuestion("What is RAG?", "missing"))
+                .isInstanceOf(NamespaceNotFoundException.class);
+    }
+
+    /**
+     * Chat model that always gives the same answer.
+     */
+    private static class StubChatModel implements ChatModel {
+
+        @Override
+        public ChatResponse call(Prompt prompt) {
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("answer"))));
+        }
+    }
+
+    /**
+     * Embedding model that returns the same vector for every text.
+     */
+    private static class StubEmbeddingModel implements EmbeddingModel {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public EmbeddingResponse call(EmbeddingRequest request) {
+            calls.incrementAndGet();
+            return new EmbeddingResponse(List.of(new Embedding(new float[] {1.0f, 0.0f}, 0)));
+        }
+
+        @Override
+        public float[] embed(Document document) {
+            return call(null).getResults().get(0).getOutput();
+        }
+
+        @Override
+        public int dimensions() {
+            return 2;
+        }
+    }
+}
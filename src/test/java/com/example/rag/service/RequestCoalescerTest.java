@@ -0,0 +1,99 @@
+package com.example.rag.service;
+
+import com.example.rag.model.QuestionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new RequestCoalescer();
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+    }
+
+    @Test
+    void concurrentIdenticalQuestionsShareOneExecution() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 8;
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(callers)) {
+            List<Future<QuestionResponse>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String question = i % 2 == 0 ? "What is RAG?" : "  what is   rag? ";
+                futures.add(pool.submit(() -> coalescer.execute(RequestCoalescer.key(question, "f"), () -> {
+                    runs.incrementAndGet();
+                    await(release);
+                    return new QuestionResponse("What is RAG?", "answer", List.of(), 1);
+                })));
+            }
+
+            // Let every caller join the in-flight execution before it completes
+            while (coalescer.getCoalesced() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<QuestionResponse> future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS).getAnswer()).isEqualTo("answer");
+            }
+        }
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(coalescer.getExecutions()).isEqualTo(1);
+        assertThat(coalescer.getCoalesced()).isEqualTo(callers - 1);
+    }
+
+    @Test
+    void completedExecutionIsNotReused() {
+        String key = RequestCoalescer.key("What is RAG?", "f");
+
+        coalescer.execute(key, () -> new QuestionResponse("q", "first", List.of(), 1));
+        QuestionResponse second = coalescer.execute(key, () -> new QuestionResponse("q", "second", List.of(), 1));
+
+        assertThat(second.getAnswer()).isEqualTo("second");
+        assertThat(coalescer.getExecutions()).isEqualTo(2);
+    }
+
+    @Test
+    void differentFiltersAreNotCoalesced() {
+        assertThat(RequestCoalescer.key("What is RAG?", "a"))
+                .isNotEqualTo(RequestCoalescer.key("What is RAG?", "b"));
+    }
+
+    @Test
+    void failureIsPropagatedAndNotRemembered() {
+        String key = RequestCoalescer.key("What is RAG?", "f");
+
+        assertThatThrownBy(() -> coalescer.execute(key, () -> {
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+
+        assertThat(coalescer.execute(key, () -> new QuestionResponse("q", "ok", List.of(), 1)).getAnswer())
+                .isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
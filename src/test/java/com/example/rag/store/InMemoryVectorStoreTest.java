@@ -0,0 +1,87 @@
+package com.example.rag.store;
+
+import com.example.rag.model.Document;
+import com.example.rag.model.RetrievedDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class InMemoryVectorStoreTest {
+
+    @Test
+    void scoresMatchCosineReference() {
+        Random random = new Random(7);
+        float[][] vectors = new float[20][];
+        InMemoryVectorStore store = new InMemoryVectorStore();
+        for (int i = 0; i < vectors.length; i++) {
+            vectors[i] = randomVector(random, 16);
+            store.addDocument(new Document("doc-" + i, "content " + i, vectors[i].clone()));
+        }
+        float[] query = randomVector(random, 16);
+
+        List<RetrievedDocument> results = store.similaritySearch(query, vectors.length, -1.0);
+
+        assertThat(results).hasSize(vectors.length);
+        for (RetrievedDocument result : results) {
+            int i = Integer.parseInt(result.getDocumentId().substring("doc-".length()));
+            assertThat(result.getSimilarity()).isCloseTo(cosine(query, vectors[i]), within(1e-5));
+        }
+        assertThat(results).extracting(RetrievedDocument::getSimilarity)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void addDocumentNormalizesCallerArrayInPlace() {
+        InMemoryVectorStore store = new InMemoryVectorStore();
+        float[] embedding = {3.0f, 4.0f};
+
+        store.addDocument(new Document("doc-1", "content", embedding));
+
+        assertThat(embedding).containsExactly(new float[] {0.6f, 0.8f}, within(1e-6f));
+        assertThat(store.getDocument("doc-1").orElseThrow().getEmbedding()).isSameAs(embedding);
+    }
+
+    @Test
+    void normalizeScalesToUnitLengthAndKeepsZeroVectors() {
+        float[] vector = {1.0f, 2.0f, 2.0f};
+
+        assertThat(VectorMath.normalize(vector)).isSameAs(vector);
+        assertThat(VectorMath.norm(vector)).isCloseTo(1.0, within(1e-6));
+        assertThat(VectorMath.normalize(new float[] {0.0f, 0.0f})).containsExactly(0.0f, 0.0f);
+    }
+
+    @Test
+    void dotRejectsMismatchedDimensions() {
+        assertThat(VectorMath.dot(new float[] {1.0f, 2.0f}, new float[] {3.0f, 4.0f})).isEqualTo(11.0);
+        assertThatThrownBy(() -> VectorMath.dot(new float[] {1.0f}, new float[] {1.0f, 0.0f}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Cosine similarity computed directly, without the store's normalization.
+     */
+    private static double cosine(float[] a, float[] b) {
+        double dot = 0.0;
+        double normA = 0.0;
+        double normB = 0.0;
+        for (int i = 0; i < a.length; i++) {
+            dot += (double) a[i] * b[i];
+            normA += (double) a[i] * a[i];
+            normB += (double) b[i] * b[i];
+        }
+        return dot / (Math.sqrt(normA) * Math.sqrt(normB));
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.rag.store;
+
+import com.example.rag.model.Document;
+import com.example.rag.model.RetrievedDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OffHeapVectorIndexTest {
+
+    private final OffHeapVectorIndex index = new OffHeapVectorIndex(2, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void scoresMatchHeapLayout() {
+        InMemoryVectorStore offHeap = new InMemoryVectorStore(index);
+        InMemoryVectorStore heap = new InMemoryVectorStore();
+        float[][] vectors = {{1f, 0f, 0f}, {0.6f, 0.8f, 0f}, {0f, 0.3f, 0.9f}};
+        for (int i = 0; i < vectors.length; i++) {
+            offHeap.addDocument(new Document("doc-" + i, "content " + i, vectors[i].clone()));
+            heap.addDocument(new Document("doc-" + i, "content " + i, vectors[i].clone()));
+        }
+
+        float[] query = {0.9f, 0.4f, 0.1f};
+        List<RetrievedDocument> expected = heap.similaritySearch(query, 3, 0.0);
+        List<RetrievedDocument> actual = offHeap.similaritySearch(query, 3, 0.0);
+
+        assertThat(actual).extracting(RetrievedDocument::getDocumentId)
+                .containsExactlyElementsOf(expected.stream().map(RetrievedDocument::getDocumentId).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getSimilarity()).isCloseTo(expected.get(i).getSimilarity(), within(1e-6));
+        }
+        assertThat(offHeap.getDocument("doc-0")).get().extracting(Document::getEmbedding).isNull();
+    }
+
+    @Test
+    void reusesFreedSlotsAndCompactsTrailingChunks() {
+        for (int i = 0; i < 6; i++) {
+            index.put("doc-" + i, VectorMath.normalize(new float[] {i + 1f, 1f}));
+        }
+        assertThat(index.vectorBytes()).isEqualTo(3L * 2 * 2 * Float.BYTES);
+
+        index.remove("doc-0");
+        index.remove("doc-1");
+        index.remove("doc-2");
+
+        assertThat(index.compact()).isEqualTo(3);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.vectorBytes()).isEqualTo(2L * 2 * 2 * Float.BYTES);
+
+        Map<String, Double> scores = new HashMap<>();
+        index.scoreAll(new float[] {1f, 0f}, scores::put);
+        assertThat(scores).containsOnlyKeys("doc-3", "doc-4", "doc-5");
+        assertThat(scores.get("doc-5")).isCloseTo(6 / Math.sqrt(37), within(1e-6));
+        assertThat(index.dot("doc-3", "doc-3")).isCloseTo(1.0, within(1e-6));
+        assertThat(index.dot("doc-0", "doc-3")).isNaN();
+    }
+}
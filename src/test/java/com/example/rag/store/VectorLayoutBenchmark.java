@@ -0,0 +1,87 @@
+package com.example.rag.store;
+
+import com.example.rag.model.Document;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Heap footprint and GC comparison of the {@code heap} and {@code off-heap} vector
+ * layouts. Loads a corpus of random vectors, then runs a search load and reports
+ * live heap and direct memory after loading, plus GC count and time during the load.
+ * <p>
+ * Run each layout in its own JVM with the same heap settings, e.g. with
+ * {@code scripts/layout-benchmark.sh}.
+ */
+public final class VectorLayoutBenchmark {
+
+    private VectorLayoutBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        String layout = args.length > 0 ? args[0] : "heap";
+        int documents = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+        int dimensions = args.length > 2 ? Integer.parseInt(args[2]) : 1536;
+        int queries = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+
+        VectorIndex index = switch (layout) {
+            case "heap" -> new HeapVectorIndex();
+            case "off-heap" -> new OffHeapVectorIndex(1024, Duration.ofMinutes(1));
+            default -> throw new IllegalArgumentException("Unknown layout: " + layout);
+        };
+        InMemoryVectorStore store = new InMemoryVectorStore(index);
+
+        Random random = new Random(42);
+        for (int i = 0; i < documents; i++) {
+            store.addDocument(new Document("doc-" + i, "content " + i, randomVector(random, dimensions)));
+        }
+        System.gc();
+        long heapBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long directBytes = directMemoryUsed();
+
+        long gcCount = gcCount();
+        long gcTimeMs = gcTimeMs();
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            store.similaritySearch(randomVector(random, dimensions), 5, 0.0);
+        }
+        long searchMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("layout=%s documents=%d dimensions=%d queries=%d%n", layout, documents, dimensions, queries);
+        System.out.printf("live heap after load  %8d KiB%n", heapBytes / 1024);
+        System.out.printf("direct memory         %8d KiB%n", directBytes / 1024);
+        System.out.printf("search load           %8d ms%n", searchMs);
+        System.out.printf("GCs during search     %8d (%d ms)%n", gcCount() - gcCount, gcTimeMs() - gcTimeMs);
+        store.close();
+    }
+
+    private static long directMemoryUsed() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .sum();
+    }
+
+    private static long gcTimeMs() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .sum();
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
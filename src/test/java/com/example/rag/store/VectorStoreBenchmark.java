@@ -0,0 +1,76 @@
+package com.example.rag.store;
+
+import com.example.rag.model.Document;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Allocation harness for the vector store hot paths: bytes allocated per
+ * {@code addDocument} and per {@code similaritySearch}, measured on the calling
+ * thread after a warmup pass.
+ * <p>
+ * Run with {@code scripts/allocation-benchmark.sh [documents] [dimensions] [queries]}.
+ */
+public final class VectorStoreBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private VectorStoreBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int documents = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int dimensions = args.length > 1 ? Integer.parseInt(args[1]) : 1536;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        // Warm up so JIT compilation and class loading are not counted
+        run(new InMemoryVectorStore(), documents / 10, dimensions, queries / 10, false);
+        run(new InMemoryVectorStore(), documents, dimensions, queries, true);
+    }
+
+    private static void run(InMemoryVectorStore store, int documents, int dimensions, int queries, boolean print) {
+        Random random = new Random(42);
+        float[][] vectors = new float[documents][];
+        for (int i = 0; i < documents; i++) {
+            vectors[i] = randomVector(random, dimensions);
+        }
+        float[][] queryVectors = new float[queries][];
+        for (int i = 0; i < queries; i++) {
+            queryVectors[i] = randomVector(random, dimensions);
+        }
+
+        long before = allocatedBytes();
+        for (int i = 0; i < documents; i++) {
+            store.addDocument(new Document("doc-" + i, "content " + i, vectors[i]));
+        }
+        long addBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        for (float[] query : queryVectors) {
+            store.similaritySearch(query, 5, 0.0);
+        }
+        long searchBytes = allocatedBytes() - before;
+
+        if (print) {
+            System.out.printf("documents=%d dimensions=%d queries=%d%n", documents, dimensions, queries);
+            System.out.printf("addDocument       %10d bytes/op (vector alone is %d bytes)%n",
+                    addBytes / documents, (long) dimensions * Float.BYTES);
+            System.out.printf("similaritySearch  %10d bytes/op%n", searchBytes / queries);
+        }
+        store.close();
+    }
+
+    private static float[] randomVector(Random random, int dimensions) {
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.rag.store;
+
+import com.example.rag.exception.NamespaceQuotaExceededException;
+import com.example.rag.model.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VectorStoreRegistryTest {
+
+    private static final float[] QUERY = {1.0f, 0.0f};
+
+    @Test
+    void namespacesAreIsolated() {
+        VectorStoreRegistry registry = new VectorStoreRegistry(List.of(
+                new VectorNamespace("default", new InMemoryVectorStore(), 0.0, 2),
+                new VectorNamespace("tenant-a", new InMemoryVectorStore(), 0.0, 2)));
+
+        registry.getDefault().store().addDocument(new Document("doc-1", "shared", new float[] {1.0f, 0.0f}));
+
+        assertThat(registry.find("tenant-a").orElseThrow().store().similaritySearch(QUERY, 2, 0.0)).isEmpty();
+        assertThat(registry.getDefault().store().similaritySearch(QUERY, 2, 0.0)).hasSize(1);
+        assertThat(registry.find("missing")).isEmpty();
+    }
+
+    @Test
+    void rejectsDocumentsOverQuota() {
+        // Each document needs 8 bytes of vector data plus 4 bytes of UTF-16 content
+        InMemoryVectorStore store = new InMemoryVectorStore("small", new HeapVectorIndex(), 20);
+        store.addDocument(new Document("doc-1", "ab", new float[] {1.0f, 0.0f}));
+
+        assertThatThrownBy(() -> store.addDocument(new Document("doc-2", "cd", new float[] {0.0f, 1.0f})))
+                .isInstanceOf(NamespaceQuotaExceededException.class)
+                .hasMessageContaining("small");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void replacingWithLargerContentCountsAgainstQuota() {
+        InMemoryVectorStore store = new InMemoryVectorStore("small", new HeapVectorIndex(), 20);
+        store.addDocument(new Document("doc-1", "ab", new float[] {1.0f, 0.0f}));
+
+        assertThatThrownBy(() -> store.addDocument(new Document("doc-1", "a much longer text",
+                new float[] {1.0f, 0.0f})))
+                .isInstanceOf(NamespaceQuotaExceededException.class);
+
+        store.addDocument(new Document("doc-1", "abc", new float[] {1.0f, 0.0f}));
+        assertThat(store.getDocument("doc-1").orElseThrow().getContent()).isEqualTo("abc");
+    }
+
+    @Test
+    void requiresDefaultNamespace() {
+        assertThatThrownBy(() -> new VectorStoreRegistry(List.of(
+                new VectorNamespace("tenant-a", new InMemoryVectorStore(), 0.0, 2))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
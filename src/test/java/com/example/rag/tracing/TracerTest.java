@@ -0,0 +1,85 @@
+package com.example.rag.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracerTest {
+
+    private final Tracer tracer = new Tracer();
+
+    @AfterEach
+    void tearDown() {
+        tracer.end();
+    }
+
+    @Test
+    void recordsStagesForCurrentRequest() {
+        ReflectionTestUtils.setField(tracer, "enabled", true);
+        String traceId = tracer.begin("abc-123");
+
+        try (Span span = tracer.span("embed")) {
+            tracer.recordQuestion("What is RAG?");
+        }
+        try (Span span = tracer.span("generate")) {
+            tracer.recordPromptSize(42);
+        }
+
+        RequestTrace trace = tracer.end();
+        assertThat(traceId).isEqualTo("abc-123");
+        assertThat(trace.getTraceId()).isEqualTo("abc-123");
+        assertThat(trace.getStages()).extracting(RequestTrace.Stage::name).containsExactly("embed", "generate");
+        assertThat(trace.getQuestion()).isEqualTo("What is RAG?");
+        assertThat(trace.getPromptChars()).isEqualTo(42);
+    }
+
+    @Test
+    void coalescedRequestRecordsLeaderStages() throws Exception {
+        ReflectionTestUtils.setField(tracer, "enabled", true);
+        AtomicReference<TraceSnapshot> leader = new AtomicReference<>();
+        AtomicReference<RequestTrace> leaderTrace = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            tracer.begin("leader");
+            try (Span span = tracer.span("embed")) {
+                tracer.recordPromptSize(120);
+            }
+            leader.set(tracer.snapshot());
+            // The leader's own snapshot must not be recorded twice
+            tracer.recordCoalesced(leader.get());
+            leaderTrace.set(tracer.end());
+        });
+        thread.start();
+        thread.join();
+        assertThat(leaderTrace.get().getStages()).hasSize(1);
+
+        tracer.begin("follower");
+        tracer.recordCoalesced(leader.get());
+
+        RequestTrace trace = tracer.end();
+        assertThat(trace.getStages()).extracting(RequestTrace.Stage::name).containsExactly("embed");
+        assertThat(trace.getPromptChars()).isEqualTo(120);
+    }
+
+    @Test
+    void replacesMalformedTraceId() {
+        ReflectionTestUtils.setField(tracer, "enabled", true);
+
+        String traceId = tracer.begin("bad\nid");
+
+        assertThat(traceId).matches("[0-9a-f]{32}");
+    }
+
+    @Test
+    void disabledTracingIsNoOp() {
+        ReflectionTestUtils.setField(tracer, "enabled", false);
+        String traceId = tracer.begin(null);
+
+        assertThat(traceId).isNull();
+        assertThat(tracer.span("embed")).isSameAs(Span.NOOP);
+        assertThat(tracer.end()).isNull();
+    }
+}